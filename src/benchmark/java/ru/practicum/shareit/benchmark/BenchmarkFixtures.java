@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@shareit.ru")
+                .build();
+    }
+
+    static Item item(long id, User owner) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель ударная " + id)
+                .description("Мощная ударная дрель с набором сверл, модель " + id)
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    static Booking booking(long id, Item item, User booker) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0).plusDays(id);
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    static Comment comment(long id, Item item, User author) {
+        return Comment.builder()
+                .id(id)
+                .text("Отличная вещь, всё работает, спасибо! #" + id)
+                .item(item)
+                .author(author)
+                .created(LocalDate.of(2024, 2, 1))
+                .build();
+    }
+
+    static ItemExtendedDto itemPage(int commentCount) {
+        List<CommentResponseDto> comments = new ArrayList<>();
+        for (long i = 1; i <= commentCount; i++) {
+            comments.add(CommentResponseDto.builder()
+                    .id(i)
+                    .text("Отличная вещь, всё работает, спасибо! #" + i)
+                    .authorName("user" + i)
+                    .created(LocalDate.of(2024, 2, 1))
+                    .build());
+        }
+        return ItemExtendedDto.builder()
+                .id(1L)
+                .name("Дрель ударная")
+                .description("Мощная ударная дрель с набором сверл")
+                .available(true)
+                .lastBooking(LocalDateTime.of(2024, 1, 10, 12, 0))
+                .nextBooking(LocalDateTime.of(2024, 3, 10, 12, 0))
+                .comments(comments.isEmpty() ? null : comments)
+                .build();
+    }
+}
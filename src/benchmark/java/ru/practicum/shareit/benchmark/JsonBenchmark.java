@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int commentCount;
+
+    private ObjectMapper objectMapper;
+
+    private ItemExtendedDto itemPage;
+
+    private List<BookingDto> bookingPage;
+
+    @Setup
+    public void setUp() {
+        // same date handling as the application's auto-configured mapper
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        itemPage = BenchmarkFixtures.itemPage(commentCount);
+
+        User owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        Item item = BenchmarkFixtures.item(1, owner);
+        bookingPage = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            bookingPage.add(BookingMapper.toBookingDto(BenchmarkFixtures.booking(i, item, booker)));
+        }
+    }
+
+    @Benchmark
+    public byte[] itemExtendedDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemPage);
+    }
+
+    @Benchmark
+    public byte[] bookingDtoPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+}
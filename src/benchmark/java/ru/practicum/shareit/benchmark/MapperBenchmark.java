@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Item item;
+
+    private ItemDto itemDto;
+
+    private Booking booking;
+
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkFixtures.user(1);
+        User booker = BenchmarkFixtures.user(2);
+        item = BenchmarkFixtures.item(1, owner);
+        itemDto = ItemMapper.toItemDto(item);
+        booking = BenchmarkFixtures.booking(1, item, booker);
+        comment = BenchmarkFixtures.comment(1, item, booker);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item itemDtoToItem() {
+        return ItemMapper.toItem(itemDto);
+    }
+
+    @Benchmark
+    public ItemExtendedDto itemToItemExtendedDto() {
+        return ItemMapper.toItemExtendedDto(item);
+    }
+
+    @Benchmark
+    public BookingDto bookingToBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public CommentResponseDto commentToCommentResponseDto() {
+        return CommentMapper.toCommentResponseDto(comment);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.request.match.OpenRequestIndex;
+import ru.practicum.shareit.request.match.RequestMatch;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring one item against an index of open requests whose descriptions are
+ * drawn from a vocabulary with a handful of very common words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestMatchBenchmark {
+
+    private static final String[] COMMON = {"нужна", "нужен", "дрель", "велосипед", "палатка", "лестница"};
+
+    @Param({"100000"})
+    public int openRequests;
+
+    private OpenRequestIndex index;
+
+    private String[] names;
+
+    private String[] descriptions;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new OpenRequestIndex();
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < openRequests; i++) {
+            index.add(i, random.nextInt(10_000), COMMON[random.nextInt(COMMON.length)] + " " + text(random, 3),
+                    created);
+        }
+        names = new String[1024];
+        descriptions = new String[1024];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = COMMON[random.nextInt(COMMON.length)] + " " + text(random, 1);
+            descriptions[i] = text(random, 6);
+        }
+    }
+
+    @Benchmark
+    public List<RequestMatch> match() {
+        int i = next++ & (names.length - 1);
+        return index.match(-1, names[i], descriptions[i], 0.5, 20);
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(" word").append(random.nextInt(5_000));
+        }
+        return text.toString();
+    }
+}
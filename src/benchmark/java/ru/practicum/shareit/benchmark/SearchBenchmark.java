@@ -0,0 +1,151 @@
+package ru.practicum.shareit.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.common.Paging;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item search on a large catalog, old path against the new ones:
+ * <ul>
+ *     <li>{@code oldUnpaged} is the original query, every match loaded as an entity;</li>
+ *     <li>{@code databasePaged} is the ranked, paged query behind /items/search,
+ *     served by the trigram indexes on Postgres;</li>
+ *     <li>{@code memoryIndex} is the same endpoint with the in-memory index.</li>
+ * </ul>
+ * Runs on an embedded H2 by default, where the database paths scan; set
+ * {@code benchmark.datasource.url} to compare them on Postgres. The 1M-item
+ * catalog needs a few GB of heap on H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final String OLD_QUERY = "select it from Item as it where it.available = true and " +
+            "(lower(it.name) like lower(concat('%', ?1,'%')) or " +
+            "lower(it.description) like lower(concat('%', ?1,'%')))";
+
+    private static final String[] WORDS = {"дрель", "перфоратор", "шуруповерт", "лестница", "палатка",
+            "велосипед", "самокат", "проектор", "камера", "штатив", "гитара", "синтезатор", "лодка", "мангал",
+            "пылесос", "отвертка", "пила", "рюкзак", "спальник", "коньки", "лыжи", "сноуборд", "удочка", "микроскоп"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"100000", "1000000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemService itemService;
+
+    private ItemRepository itemRepository;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private long userId;
+
+    private String[] queries;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:h2:mem:search" + System.nanoTime() + ";DB_CLOSE_DELAY=-1"),
+                        "shareit.search.index.enabled=true",
+                        "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        seed(new JdbcTemplate(context.getBean(DataSource.class)), new Random(42));
+        context.getBean(ItemSearchIndex.class).rebuild();
+
+        Random random = new Random(7);
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            queries[i] = word.substring(0, Math.min(word.length(), 4 + random.nextInt(3)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> oldUnpaged() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(OLD_QUERY, Item.class)
+                    .setParameter(1, query())
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<Item> databasePaged() {
+        return itemRepository.findByQuery(query(), Paging.of(0, 20, 20));
+    }
+
+    @Benchmark
+    public List<ItemDto> memoryIndex() {
+        return itemService.search(userId, query(), 0, 20);
+    }
+
+    private String query() {
+        return queries[next++ & (queries.length - 1)];
+    }
+
+    private void seed(JdbcTemplate jdbc, Random random) {
+        String run = Long.toString(System.nanoTime(), 36);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            users.add(new Object[]{"owner " + i, "owner" + i + "-" + run + "@shareit.ru"});
+        }
+        jdbc.batchUpdate("insert into users (name, email) values (?, ?)", users);
+        List<Long> ownerIds = jdbc.queryForList("select id from users order by id", Long.class);
+        userId = ownerIds.get(0);
+
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < items; i++) {
+            rows.add(new Object[]{word(random) + " " + word(random) + " " + i,
+                    word(random) + " " + word(random) + " " + word(random) + " в хорошем состоянии",
+                    random.nextDouble() < 0.95, ownerIds.get(random.nextInt(ownerIds.size()))});
+            if (rows.size() == BATCH_SIZE || i == items - 1) {
+                jdbc.batchUpdate("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)",
+                        rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
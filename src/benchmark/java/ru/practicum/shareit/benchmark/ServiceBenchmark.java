@@ -0,0 +1,127 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service calls against the real Spring context on an embedded H2 database,
+ * seeded with one owner whose items each have a past and a future approved
+ * booking and a comment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10", "1000"})
+    public int itemsPerOwner;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private ItemService itemService;
+
+    private ItemDetailsCache itemDetailsCache;
+
+    private Long ownerId;
+
+    private Long itemId;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        itemService = context.getBean(ItemService.class);
+        itemDetailsCache = context.getBean(ItemDetailsCache.class);
+        BookingService bookingService = context.getBean(BookingService.class);
+
+        ownerId = userService.create(newUser("owner")).getId();
+        UserDto booker = userService.create(newUser("booker"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < itemsPerOwner; i++) {
+            ItemDto item = itemService.addNewItem(ownerId, ItemDto.builder()
+                    .name("Дрель " + i)
+                    .description("Ударная дрель номер " + i)
+                    .available(true)
+                    .build());
+            itemId = item.getId();
+            for (BookingDtoRequest request : List.of(
+                    bookingRequest(item.getId(), now.minusDays(10), now.minusDays(9)),
+                    bookingRequest(item.getId(), now.plusDays(9), now.plusDays(10)))) {
+                BookingDto booking = bookingService.createNewBooking(request, booker.getId());
+                bookingService.approveBookingRequest(ownerId, booking.getId(), true);
+            }
+            itemService.addNewComment(item.getId(), booker.getId(), CommentDto.builder().text("Спасибо!").build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemExtendedDto> getUserItems() {
+        return itemService.getUserItems(ownerId);
+    }
+
+    @Benchmark
+    public ItemExtendedDto getItemByIdCached() {
+        return itemService.getItemById(itemId, ownerId);
+    }
+
+    @Benchmark
+    public ItemExtendedDto getItemByIdUncached() {
+        itemDetailsCache.evict(itemId);
+        return itemService.getItemById(itemId, ownerId);
+    }
+
+    @Benchmark
+    public UserDto createUserWithEmailCheck() {
+        return userService.create(newUser("user" + emailSequence.incrementAndGet()));
+    }
+
+    private User newUser(String name) {
+        return User.builder()
+                .name(name)
+                .email(name + "-" + System.nanoTime() + "@shareit.ru")
+                .build();
+    }
+
+    private BookingDtoRequest bookingRequest(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Signup latency as the users table grows. Each trial seeds the table with
+ * {@code existingUsers} rows through JDBC batches, then measures creating a
+ * user with a fresh email and with an email that is already taken. Both
+ * should stay flat across the parameter range since the check is one lookup
+ * on the unique email index.
+ * <p>
+ * Runs on an embedded H2 by default; {@code -Dbenchmark.datasource.url=...}
+ * points it at a local Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignupBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int existingUsers;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private String takenEmail;
+
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:h2:mem:signup" + System.nanoTime() + ";DB_CLOSE_DELAY=-1"),
+                        "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        String run = Long.toString(System.nanoTime(), 36);
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < existingUsers; i++) {
+            users.add(new Object[]{"user " + i, "seed" + i + "-" + run + "@shareit.ru"});
+            if (users.size() == BATCH_SIZE || i == existingUsers - 1) {
+                jdbc.batchUpdate("insert into users (name, email) values (?, ?)", users);
+                users.clear();
+            }
+        }
+        takenEmail = "seed" + (existingUsers / 2) + "-" + run + "@shareit.ru";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDto createWithFreeEmail() {
+        long n = emailSequence.incrementAndGet();
+        return userService.create(User.builder()
+                .name("user" + n)
+                .email("new" + n + "-" + System.nanoTime() + "@shareit.ru")
+                .build());
+    }
+
+    @Benchmark
+    public Object createWithTakenEmail() {
+        try {
+            return userService.create(User.builder()
+                    .name("duplicate")
+                    .email(takenEmail)
+                    .build());
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+
+/**
+ * Ids of the seeded rows, in the skewed order the workloads sample from:
+ * the most active owners, hottest items and busiest bookers come first.
+ */
+record Dataset(List<Long> ownerIds, List<Long> itemIds, List<Long> bookerIds, List<String> searchTerms) {
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds users, items, bookings and comments with plain JDBC batches.
+ * Item ownership and booking counts follow a Zipf distribution, so there are
+ * a few power owners and hot items and a long tail of rarely touched ones.
+ * Bookings of one item are laid out back to back and never overlap.
+ */
+class DatasetGenerator {
+
+    static final List<String> WORDS = List.of("дрель", "перфоратор", "шуруповерт", "лестница", "палатка",
+            "велосипед", "самокат", "проектор", "камера", "штатив", "гитара", "синтезатор", "лодка", "мангал",
+            "пылесос", "отвертка", "пила", "рюкзак", "спальник", "коньки", "лыжи", "сноуборд", "удочка", "микроскоп");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    private final Random random;
+
+    DatasetGenerator(JdbcTemplate jdbc, long seed) {
+        this.jdbc = jdbc;
+        this.random = new Random(seed);
+    }
+
+    void generate(int userCount, int itemCount, int bookingCount, double commentRate) {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            users.add(new Object[]{"user " + i, "load" + i + "-" + random.nextInt(1_000_000) + "@shareit.ru"});
+        }
+        insert("insert into users (name, email) values (?, ?)", users);
+        List<Long> userIds = jdbc.queryForList("select id from users order by id", Long.class);
+
+        ZipfSampler owners = new ZipfSampler(userIds.size(), 1.1, random);
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            String name = word() + " " + word() + " " + i;
+            String description = word() + " " + word() + " " + word() + " в хорошем состоянии";
+            items.add(new Object[]{name, description, random.nextDouble() < 0.95, userIds.get(owners.next())});
+        }
+        insert("insert into items (name, description, is_available, owner_id) values (?, ?, ?, ?)", items);
+        List<Object[]> itemRows = jdbc.query("select id, owner_id from items order by id",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2)});
+
+        int[] bookingsPerItem = new int[itemRows.size()];
+        ZipfSampler hotItems = new ZipfSampler(itemRows.size(), 1.0, random);
+        for (int i = 0; i < bookingCount; i++) {
+            bookingsPerItem[hotItems.next()]++;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < itemRows.size(); i++) {
+            long itemId = (Long) itemRows.get(i)[0];
+            long ownerId = (Long) itemRows.get(i)[1];
+            LocalDateTime cursor = now.minusDays(365);
+            for (int j = 0; j < bookingsPerItem[i]; j++) {
+                LocalDateTime start = cursor.plusHours(1 + random.nextInt(48));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+                cursor = end;
+                long bookerId = userIds.get(random.nextInt(userIds.size()));
+                if (bookerId == ownerId) {
+                    continue;
+                }
+                String status = status(end.isBefore(now));
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, bookerId, status});
+                if ("APPROVED".equals(status) && end.isBefore(now) && random.nextDouble() < commentRate) {
+                    comments.add(new Object[]{"Всё отлично, " + word() + " в порядке", itemId, bookerId,
+                            Timestamp.valueOf(end.plusHours(2))});
+                }
+                if (bookings.size() >= BATCH_SIZE) {
+                    insertBookings(bookings);
+                    bookings.clear();
+                }
+            }
+        }
+        insertBookings(bookings);
+        insert("insert into comments (text, item_id, author_id, create_date) values (?, ?, ?, ?)", comments);
+    }
+
+    Dataset load() {
+        List<Long> ownerIds = jdbc.queryForList("select owner_id from items group by owner_id " +
+                "order by count(*) desc", Long.class);
+        List<Long> itemIds = jdbc.queryForList("select i.id from items i left join bookings b on b.item_id = i.id " +
+                "group by i.id order by count(b.id) desc, i.id", Long.class);
+        List<Long> bookerIds = jdbc.queryForList("select booker_id from bookings group by booker_id " +
+                "order by count(*) desc", Long.class);
+        return new Dataset(ownerIds, itemIds, bookerIds, WORDS);
+    }
+
+    private String status(boolean past) {
+        double roll = random.nextDouble();
+        if (past) {
+            return roll < 0.85 ? "APPROVED" : roll < 0.95 ? "REJECTED" : "CANCELED";
+        }
+        return roll < 0.6 ? "APPROVED" : roll < 0.9 ? "WAITING" : "REJECTED";
+    }
+
+    private String word() {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    private void insertBookings(List<Object[]> bookings) {
+        insert("insert into bookings (start_date, end_date, item_id, booker_id, status) values (?, ?, ?, ?, ?)",
+                bookings);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
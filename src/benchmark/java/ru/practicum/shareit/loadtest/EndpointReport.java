@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of one workload, latencies in microseconds.
+ */
+record EndpointReport(String endpoint, long requests, double throughput, long p50, long p99, long p999, long max,
+                      Map<Integer, Long> statuses) {
+
+    static EndpointReport of(String endpoint, long[] latencies, double seconds, Map<Integer, Long> statuses) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new EndpointReport(endpoint, sorted.length, sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1], statuses);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s %9d %10.1f %9d %9d %9d %9d  %s",
+                endpoint, requests, throughput, p50, p99, p999, max, statuses);
+    }
+}
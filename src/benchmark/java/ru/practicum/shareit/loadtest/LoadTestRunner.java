@@ -0,0 +1,296 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.dashboard.OwnerDashboardProjector;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Starts the application on a random port, seeds a skewed dataset and drives
+ * the hot endpoints over HTTP with a closed loop of virtual-thread clients.
+ * Each workload runs on its own for a fixed time; a report with throughput
+ * and p50/p99/p99.9 latencies is printed and written to
+ * {@code target/loadtest-report.json}.
+ * <p>
+ * Tuned with system properties: {@code loadtest.users}, {@code loadtest.items},
+ * {@code loadtest.bookings}, {@code loadtest.seed} (set to false to reuse an
+ * existing database), {@code loadtest.concurrency}, {@code loadtest.warmup}
+ * and {@code loadtest.duration} (seconds). Program arguments go to Spring, so
+ * {@code --spring.datasource.url=jdbc:postgresql://...} points the run at a
+ * local Postgres instead of the embedded H2.
+ */
+public class LoadTestRunner {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final String[] BOOKING_STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+
+    private final Dataset dataset;
+
+    private final AtomicLong bookingOffset = new AtomicLong();
+
+    LoadTestRunner(String baseUrl, Dataset dataset) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = start(args,
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        try {
+            List<EndpointReport> reports = new LoadTestRunner(baseUrl(context), prepare(context)).runAll(
+                    Integer.getInteger("loadtest.concurrency", 32),
+                    Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                    Duration.ofSeconds(Long.getLong("loadtest.duration", 30)));
+            System.out.printf("%-24s %9s %10s %9s %9s %9s %9s  %s%n",
+                    "endpoint", "requests", "req/s", "p50 us", "p99 us", "p999 us", "max us", "statuses");
+            reports.forEach(System.out::println);
+            write(reports, "target/loadtest-report.json");
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Starts the application on a random port; {@code properties} come after the
+     * defaults and program arguments override both.
+     */
+    static ConfigurableApplicationContext start(String[] args, String... properties) {
+        return start(args, context -> {
+        }, properties);
+    }
+
+    static ConfigurableApplicationContext start(
+            String[] args, ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+            String... properties) {
+        List<String> defaults = new ArrayList<>(List.of("server.port=0", "logging.level.root=WARN"));
+        defaults.addAll(List.of(properties));
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .properties(defaults.toArray(new String[0]))
+                .initializers(initializer)
+                .run(args);
+    }
+
+    /**
+     * Seeds the database unless {@code loadtest.seed} is false or it already has
+     * users, and returns the ids the workloads draw from.
+     */
+    static Dataset prepare(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+        DatasetGenerator generator = new DatasetGenerator(jdbc, Long.getLong("loadtest.random-seed", 42));
+        if (Boolean.parseBoolean(System.getProperty("loadtest.seed", "true"))
+                && jdbc.queryForObject("select count(*) from users", Long.class) == 0) {
+            generator.generate(Integer.getInteger("loadtest.users", 2_000),
+                    Integer.getInteger("loadtest.items", 20_000),
+                    Integer.getInteger("loadtest.bookings", 200_000), 0.3);
+            // The indexes and the owner dashboard were built at startup from the empty database.
+            context.getBean(BookingIntervalIndex.class).rebuild();
+            context.getBean(OwnerDashboardProjector.class).rebuild();
+            context.getBeanProvider(ItemSearchIndex.class).ifAvailable(ItemSearchIndex::rebuild);
+        }
+        return generator.load();
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    static void write(Object report, String path) throws IOException {
+        File output = new File(path);
+        output.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+    }
+
+    List<EndpointReport> runAll(int concurrency, Duration warmup, Duration duration) throws Exception {
+        List<EndpointReport> reports = new ArrayList<>();
+        for (Map.Entry<String, Function<Sampler, HttpRequest>> workload : workloads().entrySet()) {
+            run(workload.getKey(), workload.getValue(), concurrency, warmup);
+            reports.add(run(workload.getKey(), workload.getValue(), concurrency, duration));
+        }
+        return reports;
+    }
+
+    Map<String, Function<Sampler, HttpRequest>> workloads() {
+        Map<String, Function<Sampler, HttpRequest>> workloads = new LinkedHashMap<>();
+        workloads.put("GET /items/search", this::search);
+        workloads.put("GET /items/{id}", this::item);
+        workloads.put("GET /items", this::ownerItems);
+        workloads.put("GET /bookings", this::bookerBookings);
+        workloads.put("GET /bookings/owner", this::ownerBookings);
+        workloads.put("POST /bookings", this::createBooking);
+        return workloads;
+    }
+
+    EndpointReport run(String name, Function<Sampler, HttpRequest> workload, int concurrency,
+                       Duration duration) throws Exception {
+        Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Sampler sampler = new Sampler(new Random(i), dataset);
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = workload.apply(sampler);
+                        long start = System.nanoTime();
+                        int status = send(request);
+                        long latency = (System.nanoTime() - start) / 1_000;
+                        statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = latency;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] all = new long[0];
+        for (Future<long[]> client : clients) {
+            long[] latencies = client.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.get()));
+        return EndpointReport.of(name, all, seconds, statusCounts);
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest search(Sampler sampler) {
+        String text = sampler.searchTerm();
+        return get("/items/search?text=" + URLEncoder.encode(text.substring(0, Math.min(text.length(), 4)),
+                StandardCharsets.UTF_8), sampler.bookerId());
+    }
+
+    private HttpRequest item(Sampler sampler) {
+        return get("/items/" + sampler.itemId(), sampler.bookerId());
+    }
+
+    private HttpRequest ownerItems(Sampler sampler) {
+        return get("/items", sampler.ownerId());
+    }
+
+    private HttpRequest bookerBookings(Sampler sampler) {
+        return get("/bookings?state=" + sampler.bookingState(), sampler.bookerId());
+    }
+
+    private HttpRequest ownerBookings(Sampler sampler) {
+        return get("/bookings/owner?state=" + sampler.bookingState(), sampler.ownerId());
+    }
+
+    private HttpRequest createBooking(Sampler sampler) {
+        // Far beyond the seeded bookings; hot items still collide with each other.
+        LocalDateTime start = LocalDateTime.now().plusYears(2).plusHours(bookingOffset.incrementAndGet() % 10_000);
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                sampler.itemId(), start.withNano(0), start.plusHours(2).withNano(0));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                .header(USER_HEADER, String.valueOf(sampler.bookerId()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    /**
+     * Per-client source of skewed ids, so clients do not contend on one {@link Random}.
+     */
+    static final class Sampler {
+
+        private final Random random;
+
+        private final Dataset dataset;
+
+        private final ZipfSampler owners;
+
+        private final ZipfSampler items;
+
+        private final ZipfSampler bookers;
+
+        Sampler(Random random, Dataset dataset) {
+            this.random = random;
+            this.dataset = dataset;
+            this.owners = new ZipfSampler(dataset.ownerIds().size(), 1.1, random);
+            this.items = new ZipfSampler(dataset.itemIds().size(), 1.0, random);
+            this.bookers = new ZipfSampler(dataset.bookerIds().size(), 1.0, random);
+        }
+
+        long ownerId() {
+            return dataset.ownerIds().get(owners.next());
+        }
+
+        long itemId() {
+            return dataset.itemIds().get(items.next());
+        }
+
+        long bookerId() {
+            return dataset.bookerIds().get(bookers.next());
+        }
+
+        String searchTerm() {
+            return dataset.searchTerms().get(random.nextInt(dataset.searchTerms().size()));
+        }
+
+        String bookingState() {
+            return BOOKING_STATES[random.nextInt(BOOKING_STATES.length)];
+        }
+    }
+}
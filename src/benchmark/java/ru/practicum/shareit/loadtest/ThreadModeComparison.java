@@ -0,0 +1,110 @@
+package ru.practicum.shareit.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the same workloads against the application on platform request threads
+ * and then on virtual threads with the JDBC bulkhead, each in a fresh
+ * application, and reports p99 latency next to the peak number of requests the
+ * server was handling at once. With platform threads that peak is capped by
+ * the Tomcat worker pool, which is what the comparison is about, so the
+ * default concurrency is well above it.
+ * <p>
+ * Tuned with the {@link LoadTestRunner} properties plus {@code loadtest.workloads},
+ * a comma separated list of workload names. The report is printed and written
+ * to {@code target/loadtest-threads-report.json}.
+ */
+public class ThreadModeComparison {
+
+    private static final Map<String, String[]> MODES = Map.of(
+            "platform", new String[]{"spring.threads.virtual.enabled=false", "shareit.jdbc.bulkhead.enabled=false"},
+            "virtual", new String[]{"spring.threads.virtual.enabled=true", "shareit.jdbc.bulkhead.enabled=true"});
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1_000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+        List<String> workloads = List.of(System.getProperty("loadtest.workloads",
+                "GET /items/{id},GET /bookings/owner,POST /bookings").split(","));
+
+        List<ThreadModeReport> reports = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            InFlightFilter inFlight = new InFlightFilter();
+            List<String> properties = new ArrayList<>(List.of(MODES.get(mode)));
+            // an embedded database per mode; a Postgres url in the arguments is shared and seeded once
+            properties.add("spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";DB_CLOSE_DELAY=-1");
+            ConfigurableApplicationContext context = LoadTestRunner.start(args,
+                    app -> app.getBeanFactory().registerSingleton("inFlightFilter", inFlight),
+                    properties.toArray(new String[0]));
+            try {
+                LoadTestRunner runner = new LoadTestRunner(LoadTestRunner.baseUrl(context),
+                        LoadTestRunner.prepare(context));
+                for (String name : workloads) {
+                    Function<LoadTestRunner.Sampler, HttpRequest> workload = runner.workloads().get(name.trim());
+                    if (workload == null) {
+                        throw new IllegalArgumentException("Unknown workload " + name);
+                    }
+                    runner.run(name.trim(), workload, concurrency, warmup);
+                    inFlight.resetPeak();
+                    EndpointReport report = runner.run(name.trim(), workload, concurrency, duration);
+                    reports.add(new ThreadModeReport(mode, concurrency, inFlight.resetPeak(), report));
+                }
+            } finally {
+                context.close();
+            }
+        }
+        System.out.printf("%-9s %-24s %9s %10s %9s %9s %9s  %s%n",
+                "threads", "endpoint", "requests", "req/s", "p99 us", "max us", "in-flight", "statuses");
+        reports.forEach(System.out::println);
+        LoadTestRunner.write(reports, "target/loadtest-threads-report.json");
+    }
+
+    /**
+     * Counts the requests the server is handling at once and keeps the peak.
+     */
+    static final class InFlightFilter extends OncePerRequestFilter {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        int resetPeak() {
+            return peak.getAndSet(inFlight.get());
+        }
+    }
+
+    record ThreadModeReport(String threads, int clients, int peakInFlight, EndpointReport report) {
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %-24s %9d %10.1f %9d %9d %9d  %s", threads, report.endpoint(),
+                    report.requests(), report.throughput(), report.p99(), report.max(), peakInFlight,
+                    report.statuses());
+        }
+    }
+}
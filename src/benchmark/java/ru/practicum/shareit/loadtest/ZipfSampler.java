@@ -0,0 +1,33 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws indexes in {@code [0, size)} with probability proportional to
+ * {@code 1 / (rank + 1)^exponent}, so a few low indexes dominate.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    private final Random random;
+
+    ZipfSampler(int size, double exponent, Random random) {
+        this.cumulative = new double[size];
+        this.random = random;
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
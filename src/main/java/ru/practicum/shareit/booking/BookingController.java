@@ -2,9 +2,13 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.event.BookingEventBus;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
@@ -19,12 +23,20 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    private final BookingEventBus bookingEventBus;
+
     @PostMapping
     public BookingDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
                              @Valid @RequestBody BookingDtoRequest booking) {
         return bookingService.createNewBooking(booking, userId);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDto> approveBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<BookingApprovalDto> approvals) {
+        return bookingService.approveBookingRequests(userId, approvals);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId,
@@ -32,6 +44,15 @@ public class BookingController {
         return bookingService.approveBookingRequest(userId, bookingId, approved);
     }
 
+    /**
+     * Pushes new WAITING bookings of the user's items and status changes of
+     * the user's own bookings.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingEventBus.subscribe(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long bookingId) {
         return bookingService.findBookingById(userId, bookingId);
@@ -39,13 +60,17 @@ public class BookingController {
 
     @GetMapping
     public List<BookingDto> getByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @RequestParam(value = "state", defaultValue = "ALL") BookingState state) {
-        return bookingService.getBookingsByState(userId, state);
+                                       @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+                                       @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                       @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return bookingService.getBookingsByState(userId, state, from, size);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getBookingItemsByState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(value = "state", defaultValue = "ALL") BookingState state) {
-        return bookingService.getBookingItemsByState(userId, state);
+                                                   @RequestParam(value = "state", defaultValue = "ALL") BookingState state,
+                                                   @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                                   @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return bookingService.getBookingItemsByState(userId, state, from, size);
     }
 }
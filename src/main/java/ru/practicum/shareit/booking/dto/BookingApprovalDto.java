@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingApprovalDto {
+    @NotNull
+    private Long bookingId;
+
+    @NotNull
+    private Boolean approved;
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingEvent(Long bookingId, Long itemId, Long bookerId, Long ownerId, BookingStatus status,
+                           LocalDateTime start, LocalDateTime end) {
+
+    public static BookingEvent of(Booking booking) {
+        return new BookingEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getItem().getOwner().getId(), booking.getStatus(), booking.getStart(), booking.getEnd());
+    }
+}
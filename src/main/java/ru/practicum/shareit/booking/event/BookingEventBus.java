@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of booking events to server-sent event streams, keyed by user.
+ * An idle subscription is just an emitter and an empty buffer: no thread is held.
+ * Events are buffered per subscriber up to a fixed size and written by a virtual
+ * thread only while there is something to send. A subscriber whose buffer is full
+ * is disconnected, so a slow client never holds back the others.
+ */
+@Slf4j
+@Component
+public class BookingEventBus {
+
+    public static final String BOOKING_CREATED = "booking-created";
+
+    public static final String BOOKING_STATUS = "booking-status";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("booking-sse-heartbeat").factory());
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    private final Counter disconnected;
+
+    public BookingEventBus(MeterRegistry registry,
+                           @Value("${shareit.bookings.stream.buffer-size:64}") int bufferSize,
+                           @Value("${shareit.bookings.stream.timeout:30m}") Duration timeout,
+                           @Value("${shareit.bookings.stream.heartbeat:30s}") Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.disconnected = Counter.builder("shareit.bookings.stream.overflow").register(registry);
+        Gauge.builder("shareit.bookings.stream.subscribers", subscriberCount, AtomicInteger::get).register(registry);
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return emitter;
+    }
+
+    public void publish(Long userId, String name, BookingEvent event) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(SseEmitter.event().name(name).id(String.valueOf(event.bookingId())).data(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        private ArrayDeque<SseEmitter.SseEventBuilder> buffer;
+
+        private boolean sending;
+
+        private boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            boolean overflow = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (sending && buffer.size() >= bufferSize) {
+                    overflow = true;
+                    closed = true;
+                } else {
+                    if (buffer == null) {
+                        buffer = new ArrayDeque<>();
+                    }
+                    buffer.add(event);
+                    if (sending) {
+                        return;
+                    }
+                    sending = true;
+                }
+            }
+            if (overflow) {
+                disconnected.increment();
+                close();
+                emitter.complete();
+                return;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = buffer.poll();
+                    if (event == null || closed) {
+                        sending = false;
+                        // let an idle subscriber drop its buffer
+                        buffer = null;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+            }
+            subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+                if (userSubscribers.remove(this)) {
+                    subscriberCount.decrementAndGet();
+                }
+                return userSubscribers.isEmpty() ? null : userSubscribers;
+            });
+        }
+    }
+}
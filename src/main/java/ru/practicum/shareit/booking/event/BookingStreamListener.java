@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class BookingStreamListener {
+
+    private final BookingEventBus bookingEventBus;
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        bookingEventBus.publish(event.booking().ownerId(), BookingEventBus.BOOKING_CREATED, event.booking());
+    }
+
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        bookingEventBus.publish(event.booking().bookerId(), BookingEventBus.BOOKING_STATUS, event.booking());
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Approved bookings per item, kept in memory so that last/next booking and
+ * availability questions are answered without a query. Loaded from the
+ * database on startup and updated by the booking service afterwards.
+ * <p>
+ * Every instance keeps its own copy and only sees its own writes, so the index
+ * is reloaded from the database every {@code shareit.bookings.index.reconcile-interval};
+ * bookings decided on another instance show up here within that interval.
+ * Times are kept in microseconds, the precision the database stores them with.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookingRepository bookingRepository;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${shareit.bookings.index.reconcile-interval:5m}",
+            fixedDelayString = "${shareit.bookings.index.reconcile-interval:5m}")
+    public void rebuild() {
+        Map<Long, List<long[]>> bookings = new HashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<BookingInterval> intervals = bookingRepository.streamIntervalsByStatus(BookingStatus.APPROVED)) {
+                intervals.forEach(interval -> bookings.computeIfAbsent(interval.getItemId(), id -> new ArrayList<>())
+                        .add(new long[]{interval.getId(), toEpochMicros(interval.getStartDate()),
+                                toEpochMicros(interval.getEndDate())}));
+            }
+        });
+        Map<Long, ItemIntervals> rebuilt = new HashMap<>();
+        bookings.forEach((itemId, list) -> {
+            long[] ids = new long[list.size()];
+            long[] starts = new long[list.size()];
+            long[] ends = new long[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                ids[i] = list.get(i)[0];
+                starts[i] = list.get(i)[1];
+                ends[i] = list.get(i)[2];
+            }
+            rebuilt.put(itemId, ItemIntervals.of(ids, starts, ends));
+        });
+        // replaced entry by entry, so readers never see an empty index
+        items.keySet().retainAll(rebuilt.keySet());
+        items.putAll(rebuilt);
+        log.info("Booking interval index built for {} items", items.size());
+    }
+
+    /**
+     * Brings the index in line with the current status of the booking.
+     */
+    public void update(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            items.compute(itemId, (id, intervals) -> (intervals == null ? ItemIntervals.EMPTY : intervals)
+                    .with(booking.getId(), toEpochMicros(booking.getStart()), toEpochMicros(booking.getEnd())));
+        } else {
+            items.computeIfPresent(itemId, (id, intervals) -> {
+                ItemIntervals remaining = intervals.without(booking.getId());
+                return remaining.isEmpty() ? null : remaining;
+            });
+        }
+    }
+
+    public LocalDateTime findLastBookingEnd(Long itemId, LocalDateTime now) {
+        return toDateTime(intervals(itemId).lastEndBefore(toEpochMicros(now)));
+    }
+
+    public LocalDateTime findNextBookingStart(Long itemId, LocalDateTime now) {
+        return toDateTime(intervals(itemId).nextStartAfter(toEpochMicros(now)));
+    }
+
+    public boolean isBooked(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return intervals(itemId).overlaps(toEpochMicros(from), toEpochMicros(to));
+    }
+
+    public List<TimeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return intervals(itemId).freeSlots(toEpochMicros(from), toEpochMicros(to)).stream()
+                .map(slot -> new TimeSlotDto(toDateTime(slot[0]), toDateTime(slot[1])))
+                .toList();
+    }
+
+    private ItemIntervals intervals(Long itemId) {
+        return items.getOrDefault(itemId, ItemIntervals.EMPTY);
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static LocalDateTime toDateTime(long epochMicros) {
+        return epochMicros == ItemIntervals.NONE ? null : EPOCH.plus(epochMicros, ChronoUnit.MICROS);
+    }
+}
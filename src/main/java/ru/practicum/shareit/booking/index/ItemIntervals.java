@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the approved bookings of one item, as epoch microseconds.
+ * Bookings are ordered by start; {@code maxEnds} is the running maximum of the
+ * ends in that order and {@code sortedEnds} holds the same ends sorted on their
+ * own, which turns every lookup into a binary search.
+ */
+final class ItemIntervals {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    static final ItemIntervals EMPTY = new ItemIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final long[] sortedEnds;
+
+    private ItemIntervals(long[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+        this.sortedEnds = ends.clone();
+        Arrays.sort(sortedEnds);
+    }
+
+    static ItemIntervals of(long[] bookingIds, long[] starts, long[] ends) {
+        Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+        long[] sortedIds = new long[order.length];
+        long[] sortedStarts = new long[order.length];
+        long[] sortedEnds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = bookingIds[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        return new ItemIntervals(sortedIds, sortedStarts, sortedEnds);
+    }
+
+    ItemIntervals with(long bookingId, long start, long end) {
+        ItemIntervals base = without(bookingId);
+        int position = upperBound(base.starts, start);
+        return new ItemIntervals(insert(base.bookingIds, position, bookingId),
+                insert(base.starts, position, start),
+                insert(base.ends, position, end));
+    }
+
+    ItemIntervals without(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return new ItemIntervals(delete(bookingIds, i), delete(starts, i), delete(ends, i));
+            }
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Latest end among bookings that finished before {@code time}, or {@link #NONE}.
+     */
+    long lastEndBefore(long time) {
+        int index = lowerBound(sortedEnds, time) - 1;
+        return index >= 0 ? sortedEnds[index] : NONE;
+    }
+
+    /**
+     * Earliest start among bookings that begin after {@code time}, or {@link #NONE}.
+     */
+    long nextStartAfter(long time) {
+        int index = upperBound(starts, time);
+        return index < starts.length ? starts[index] : NONE;
+    }
+
+    boolean overlaps(long from, long to) {
+        int last = lowerBound(starts, to) - 1;
+        return last >= 0 && maxEnds[last] > from;
+    }
+
+    /**
+     * Gaps between bookings inside {@code [from, to)}, in chronological order.
+     */
+    List<long[]> freeSlots(long from, long to) {
+        List<long[]> slots = new ArrayList<>();
+        long cursor = from;
+        for (int i = upperBound(maxEnds, from); i < starts.length && starts[i] < to; i++) {
+            if (starts[i] > cursor) {
+                slots.add(new long[]{cursor, starts[i]});
+            }
+            cursor = Math.max(cursor, ends[i]);
+        }
+        if (cursor < to) {
+            slots.add(new long[]{cursor, to});
+        }
+        return slots;
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insert(long[] values, int position, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(values, position, result, position + 1, values.length - position);
+        return result;
+    }
+
+    private static long[] delete(long[] values, int position) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, position);
+        System.arraycopy(values, position + 1, result, position, values.length - position - 1);
+        return result;
+    }
+}
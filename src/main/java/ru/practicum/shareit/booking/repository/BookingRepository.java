@@ -1,46 +1,61 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingInterval;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(Long userId, Sort sort);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(Long userId,
-                                                                 LocalDate now, LocalDate now1, Sort sort);
-
-    List<Booking> findAllByBookerIdAndEndIsBefore(Long userId, LocalDate now, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartIsAfter(Long userId, LocalDate now, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByIdIn(Collection<Long> ids);
 
-    List<Booking> findAllByBookerIdAndStatus(Long userId, BookingState state, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByBookerId(Long userId, Pageable page);
 
-    List<Booking> findAllByItemOwnerId(Long userId, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(Long userId,
+                                                                 LocalDateTime now, LocalDateTime now1, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long userId,
-                                                                    LocalDate now, LocalDate now1, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByBookerIdAndEndIsBefore(Long userId, LocalDateTime now, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdAndEndIsBefore(Long userId, LocalDate now, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByBookerIdAndStartIsAfter(Long userId, LocalDateTime now, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsAfter(Long userId, LocalDate now, Sort sort);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findAllByBookerIdAndStatus(Long userId, BookingStatus status, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdAndStatus(Long userId, BookingState state, Sort sort);
+    boolean existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, List<BookingStatus> statuses,
+                                                                   LocalDateTime end, LocalDateTime start);
 
-    Booking findFirstByItemIdAndEndIsBeforeAndStatus(Long itemId, LocalDateTime now, BookingStatus bookingStatus, Sort prevSort);
+    boolean existsByItemIdAndIdNotAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Long id,
+                                                                        List<BookingStatus> statuses,
+                                                                        LocalDateTime end, LocalDateTime start);
 
-    Booking findFirstByItemIdAndStartIsAfterAndStatus(Long itemId, LocalDateTime now, BookingStatus bookingStatus, Sort nextSort);
+    boolean existsByItemIdAndIdNotInAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Collection<Long> ids,
+                                                                          List<BookingStatus> statuses,
+                                                                          LocalDateTime end, LocalDateTime start);
 
     Booking findByBookerIdAndItemIdAndEndIsBeforeAndStatus(Long id, Long itemId, LocalDateTime now, BookingStatus bookingStatus);
 
-    List<Booking> findAllByItemIdInAndEndIsBeforeAndStatus(List<Long> itemId, LocalDateTime now, BookingStatus bookingStatus, Sort prevSort);
-
-    List<Booking> findAllByItemIdInAndStartIsAfterAndStatus(List<Long> itemId, LocalDateTime now, BookingStatus bookingStatus, Sort nextSort);
-
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id as id, b.item.id as itemId, b.start as startDate, b.end as endDate " +
+            "from Booking as b where b.status = ?1")
+    Stream<BookingInterval> streamIntervalsByStatus(BookingStatus status);
 }
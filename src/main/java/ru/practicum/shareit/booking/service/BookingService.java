@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 
@@ -12,9 +13,11 @@ public interface BookingService {
 
     BookingDto approveBookingRequest(Long userId, Long bookingId, boolean approved);
 
+    List<BookingDto> approveBookingRequests(Long userId, List<BookingApprovalDto> approvals);
+
     BookingDto findBookingById(Long userId, Long bookingId);
 
-    List<BookingDto> getBookingsByState(Long userId, BookingState state);
+    List<BookingDto> getBookingsByState(Long userId, BookingState state, Integer from, Integer size);
 
-    List<BookingDto> getBookingItemsByState(Long userId, BookingState state);
+    List<BookingDto> getBookingItemsByState(Long userId, BookingState state, Integer from, Integer size);
 }
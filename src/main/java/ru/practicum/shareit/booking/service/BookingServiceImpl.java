@@ -1,37 +1,94 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.Paging;
+import ru.practicum.shareit.common.ServiceMetrics;
+import ru.practicum.shareit.dashboard.OwnerDashboardProjector;
+import ru.practicum.shareit.dashboard.OwnerDashboardReader;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.ItemNotAvailableException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.outbox.OutboxWriter;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.99, 0.999})
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort BOOKING_SORT = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("id"));
+
+    private static final Sort DASHBOARD_SORT = Sort.by(Sort.Order.desc("start"), Sort.Order.desc("bookingId"));
+
+    private static final String AGGREGATE_TYPE = "Booking";
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final BookingRepository bookingRepository;
 
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
 
+    private final ItemDetailsCache itemDetailsCache;
+
+    private final ItemBookingLocks itemBookingLocks;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final ServiceMetrics serviceMetrics;
+
+    private final OutboxWriter outboxWriter;
+
+    private final OwnerDashboardReader ownerDashboardReader;
+
+    private final OwnerDashboardProjector ownerDashboardProjector;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${shareit.paging.max-size:1000}")
+    private int maxPageSize;
+
     @Override
     public BookingDto createNewBooking(BookingDtoRequest booking, Long userId) {
         if (booking.getStart().isAfter(booking.getEnd()) || booking.getStart().isEqual(booking.getEnd())) {
@@ -48,7 +105,21 @@ public class BookingServiceImpl implements BookingService {
 
         Booking newBooking = BookingMapper.toBooking(booking, user, item);
         newBooking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.toBookingDto(bookingRepository.save(newBooking));
+        Booking savedBooking = itemBookingLocks.withLock(item.getId(), () -> {
+            if (bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(item.getId(),
+                    ACTIVE_STATUSES, newBooking.getEnd(), newBooking.getStart())) {
+                throw new ConflictException("Item is already booked for these dates");
+            }
+            return transactionTemplate.execute(status -> {
+                Booking created = saveBooking(newBooking);
+                BookingEvent event = BookingEvent.of(created);
+                outboxWriter.append(AGGREGATE_TYPE, created.getId(), new BookingCreatedEvent(event));
+                ownerDashboardProjector.bookingSaved(event);
+                return created;
+            });
+        });
+        itemDetailsCache.evict(item.getId());
+        return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
@@ -61,11 +132,119 @@ public class BookingServiceImpl implements BookingService {
             } else {
                 booking.setStatus(BookingStatus.REJECTED);
             }
-            return BookingMapper.toBookingDto(bookingRepository.save(booking));
+            // approving a booking that was rejected takes the slot again, so it is checked like a new one
+            Booking savedBooking = itemBookingLocks.withLock(booking.getItem().getId(), () -> {
+                if (approved && bookingRepository.existsByItemIdAndIdNotAndStatusInAndStartIsBeforeAndEndIsAfter(
+                        booking.getItem().getId(), booking.getId(), ACTIVE_STATUSES, booking.getEnd(),
+                        booking.getStart())) {
+                    throw new ConflictException("Item is already booked for these dates");
+                }
+                return transactionTemplate.execute(status -> {
+                    Booking updated = saveBooking(booking);
+                    recordStatusChanged(updated);
+                    return updated;
+                });
+            });
+            bookingIntervalIndex.update(savedBooking);
+            itemDetailsCache.evict(booking.getItem().getId());
+            return BookingMapper.toBookingDto(savedBooking);
         }
         throw new ValidationException("This user can`t approve this booking");
     }
 
+    @Override
+    public List<BookingDto> approveBookingRequests(Long userId, List<BookingApprovalDto> approvals) {
+        if (approvals == null || approvals.isEmpty() || approvals.size() > maxBatchSize) {
+            throw new ValidationException("Batch must contain from 1 to " + maxBatchSize + " bookings");
+        }
+        if (approvals.stream()
+                .anyMatch(approval -> approval.getBookingId() == null || approval.getApproved() == null)) {
+            throw new ValidationException("Booking id and approved are required");
+        }
+        Map<Long, Boolean> decisions = approvals.stream()
+                .collect(Collectors.toMap(BookingApprovalDto::getBookingId, BookingApprovalDto::getApproved,
+                        (first, second) -> second, LinkedHashMap::new));
+        List<Booking> found = bookingRepository.findAllByIdIn(decisions.keySet());
+        if (found.size() != decisions.size()) {
+            throw new NotFoundException("Booking not found");
+        }
+        if (found.stream().anyMatch(booking -> !Objects.equals(userId, booking.getItem().getOwner().getId()))) {
+            throw new ValidationException("This user can`t approve this booking");
+        }
+        Set<Long> itemIds = found.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        List<Booking> savedBookings;
+        try {
+            // the bookings are read again under the item locks; status changes are flushed at commit
+            // as one batch of updates
+            savedBookings = itemBookingLocks.withLocks(itemIds, () -> transactionTemplate.execute(status -> {
+                Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(decisions.keySet()).stream()
+                        .collect(Collectors.toMap(Booking::getId, Function.identity()));
+                checkApprovals(bookings.values(), decisions);
+                List<BookingEvent> events = new ArrayList<>(bookings.size());
+                for (Booking booking : bookings.values()) {
+                    booking.setStatus(decisions.get(booking.getId()) ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+                    BookingEvent event = BookingEvent.of(booking);
+                    outboxWriter.append(AGGREGATE_TYPE, booking.getId(), new BookingStatusChangedEvent(event));
+                    events.add(event);
+                }
+                ownerDashboardProjector.bookingsSaved(events);
+                return decisions.keySet().stream()
+                        .map(bookings::get)
+                        .toList();
+            }));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item is already booked for these dates");
+        }
+        for (Booking booking : savedBookings) {
+            bookingIntervalIndex.update(booking);
+            itemDetailsCache.evict(booking.getItem().getId());
+        }
+        return savedBookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .toList();
+    }
+
+    /**
+     * Approvals in a batch must not overlap each other, nor any active booking
+     * outside the batch. Bookings the batch rejects no longer hold their slot.
+     */
+    private void checkApprovals(Collection<Booking> bookings, Map<Long, Boolean> decisions) {
+        Map<Long, List<Booking>> approvedByItem = bookings.stream()
+                .filter(booking -> decisions.get(booking.getId()))
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        for (List<Booking> approved : approvedByItem.values()) {
+            LocalDateTime latestEnd = null;
+            for (Booking booking : approved) {
+                if (latestEnd != null && booking.getStart().isBefore(latestEnd)) {
+                    throw new ConflictException("Item is already booked for these dates");
+                }
+                latestEnd = latestEnd == null || booking.getEnd().isAfter(latestEnd) ? booking.getEnd() : latestEnd;
+                if (bookingRepository.existsByItemIdAndIdNotInAndStatusInAndStartIsBeforeAndEndIsAfter(
+                        booking.getItem().getId(), decisions.keySet(), ACTIVE_STATUSES, booking.getEnd(),
+                        booking.getStart())) {
+                    throw new ConflictException("Item is already booked for these dates");
+                }
+            }
+        }
+    }
+
+    private void recordStatusChanged(Booking booking) {
+        BookingEvent event = BookingEvent.of(booking);
+        outboxWriter.append(AGGREGATE_TYPE, booking.getId(), new BookingStatusChangedEvent(event));
+        ownerDashboardProjector.bookingSaved(event);
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Item is already booked for these dates");
+        }
+    }
+
     @Override
     public BookingDto findBookingById(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
@@ -78,76 +257,36 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getBookingsByState(Long userId, BookingState state) {
-        Sort sort = Sort.by("start").descending();
-        if (state.equals(BookingState.ALL)) {
-            return bookingRepository.findAllByBookerId(userId, sort).stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.CURRENT)) {
-            return bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(userId,
-                            LocalDate.now(), LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.PAST)) {
-            return bookingRepository.findAllByBookerIdAndEndIsBefore(userId,
-                            LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.FUTURE)) {
-            return bookingRepository.findAllByBookerIdAndStartIsAfter(userId,
-                            LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        return bookingRepository.findAllByBookerIdAndStatus(userId, state, sort)
-                .stream()
+    public List<BookingDto> getBookingsByState(Long userId, BookingState state, Integer from, Integer size) {
+        Pageable page = Paging.of(from, size, maxPageSize, BOOKING_SORT);
+        return serviceMetrics.timeList("bookings", Tags.of("side", "booker", "state", state.name()), () ->
+                findBookerBookings(userId, state, page));
+    }
+
+    private List<BookingDto> findBookerBookings(Long userId, BookingState state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = switch (state) {
+            case ALL -> bookingRepository.findAllByBookerId(userId, page);
+            case CURRENT -> bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(userId, now, now, page);
+            case PAST -> bookingRepository.findAllByBookerIdAndEndIsBefore(userId, now, page);
+            case FUTURE -> bookingRepository.findAllByBookerIdAndStartIsAfter(userId, now, page);
+            case WAITING, REJECTED -> bookingRepository.findAllByBookerIdAndStatus(userId,
+                    BookingStatus.valueOf(state.name()), page);
+        };
+        return bookings.stream()
                 .map(BookingMapper::toBookingDto)
                 .toList();
     }
 
     @Override
-    public List<BookingDto> getBookingItemsByState(Long userId, BookingState state) {
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
-        if (items.isEmpty()) {
+    public List<BookingDto> getBookingItemsByState(Long userId, BookingState state, Integer from, Integer size) {
+        Pageable page = Paging.of(from, size, maxPageSize, DASHBOARD_SORT);
+        List<BookingDto> bookings = serviceMetrics.timeList("bookings", Tags.of("side", "owner", "state", state.name()),
+                () -> ownerDashboardReader.findBookings(userId, state, page));
+        // only an empty page needs to tell "no bookings" from "no items"
+        if (bookings.isEmpty() && !itemRepository.existsByOwnerId(userId)) {
             throw new NotFoundException("User don`t have items");
         }
-        Sort sort = Sort.by("start").descending();
-        if (state.equals(BookingState.ALL)) {
-            return bookingRepository.findAllByItemOwnerId(userId, sort).stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.CURRENT)) {
-            return bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId,
-                            LocalDate.now(), LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.PAST)) {
-            return bookingRepository.findAllByItemOwnerIdAndEndIsBefore(userId,
-                            LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        if (state.equals(BookingState.FUTURE)) {
-            return bookingRepository.findAllByItemOwnerIdAndStartIsAfter(userId,
-                            LocalDate.now(), sort)
-                    .stream()
-                    .map(BookingMapper::toBookingDto)
-                    .toList();
-        }
-        return bookingRepository.findAllByItemOwnerIdAndStatus(userId, state, sort)
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .toList();
+        return bookings;
     }
 }
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-item locks that serialize the overlap check and the insert of a
+ * booking within this instance. Bookings of different items rarely share a
+ * stripe, so they do not wait for each other. Across instances the database
+ * exclusion constraint is what keeps the data consistent.
+ */
+@Component
+public class ItemBookingLocks {
+
+    private final Lock[] stripes;
+
+    public ItemBookingLocks(@Value("${shareit.booking.lock-stripes:256}") int stripeCount) {
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long itemId, Supplier<T> action) {
+        Lock lock = stripes[stripe(itemId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Holds the locks of all the given items. Stripes are taken in ascending
+     * order, so two batches, or a batch and a single booking, never wait for
+     * each other in a cycle.
+     */
+    public <T> T withLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] indexes = itemIds.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .toArray();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), stripes.length);
+    }
+}
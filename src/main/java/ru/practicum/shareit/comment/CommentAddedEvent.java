@@ -0,0 +1,4 @@
+package ru.practicum.shareit.comment;
+
+public record CommentAddedEvent(Long commentId, Long itemId, Long authorId) {
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.comment;
 
+import ru.practicum.shareit.item.dto.ItemDetailsRow;
+
 public class CommentMapper {
     public static CommentResponseDto toCommentResponseDto(Comment comment) {
         return CommentResponseDto.builder()
@@ -9,4 +11,13 @@ public class CommentMapper {
                 .created(comment.getCreated())
                 .build();
     }
+
+    public static CommentResponseDto toCommentResponseDto(ItemDetailsRow row) {
+        return CommentResponseDto.builder()
+                .id(row.commentId())
+                .text(row.commentText())
+                .authorName(row.authorName())
+                .created(row.commentCreated())
+                .build();
+    }
 }
@@ -1,11 +1,11 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long id);
-
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemIdIn(List<Long> ids);
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+public class Paging {
+    public static Pageable of(Integer from, Integer size, int maxSize) {
+        return of(from, size, maxSize, Sort.unsorted());
+    }
+
+    public static Pageable of(Integer from, Integer size, int maxSize, Sort sort) {
+        if (from == null || from < 0 || size == null || size <= 0) {
+            throw new ValidationException("Invalid paging parameters");
+        }
+        if (size > maxSize) {
+            throw new ValidationException("Page size must not exceed " + maxSize);
+        }
+        return new OffsetPageRequest(from, size, sort);
+    }
+}
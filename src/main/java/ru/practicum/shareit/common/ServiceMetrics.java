@@ -0,0 +1,50 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times list operations and records how many rows each call returned,
+ * tagged by operation and whatever breakdown the caller passes in. The meters
+ * of each tag combination are registered once and reused.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Map<Tags, ListMeters> meters = new ConcurrentHashMap<>();
+
+    public <T> List<T> timeList(String operation, Tags tags, Supplier<List<T>> query) {
+        ListMeters listMeters = meters.computeIfAbsent(tags.and("operation", operation), this::register);
+        List<T> rows = listMeters.timer().record(query);
+        listMeters.rows().record(rows == null ? 0 : rows.size());
+        return rows;
+    }
+
+    private ListMeters register(Tags tags) {
+        return new ListMeters(
+                Timer.builder("shareit.list")
+                        .tags(tags)
+                        .publishPercentiles(0.5, 0.99, 0.999)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                DistributionSummary.builder("shareit.list.rows")
+                        .tags(tags)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry));
+    }
+
+    private record ListMeters(Timer timer, DistributionSummary rows) {
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.jdbc.bulkhead.enabled", havingValue = "true")
+public class JdbcBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcBulkheadPostProcessor(Environment environment,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        int maxConcurrent = environment.getProperty("shareit.jdbc.bulkhead.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("shareit.jdbc.bulkhead.acquire-timeout", Duration.class,
+                Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    BulkheadDataSource bulkhead = new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+                    meterRegistry.ifAvailable(registry -> {
+                        Gauge.builder("shareit.jdbc.bulkhead.available", bulkhead, BulkheadDataSource::availablePermits)
+                                .register(registry);
+                        Gauge.builder("shareit.jdbc.bulkhead.waiting", bulkhead, BulkheadDataSource::queueLength)
+                                .register(registry);
+                    });
+                    return bulkhead;
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public QueryBudgetFilter queryBudgetFilter(MeterRegistry registry, Environment environment,
+                                               @Value("${shareit.query-budget.max-statements:10}") int maxStatements,
+                                               @Value("${shareit.query-budget.fail-on-exceed:false}")
+                                               boolean failOnExceed) {
+        // keys are "METHOD /pattern", e.g. shareit.query-budget.endpoints[GET\ /items/{itemId}]=1
+        Map<String, Integer> endpointBudgets = Binder.get(environment)
+                .bind("shareit.query-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new QueryBudgetFilter(registry, maxStatements, endpointBudgets, failOnExceed);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a statement-counting scope around every request, records the count
+ * per endpoint and reports requests that go over the budget together with
+ * the statement shapes that were executed more than once.
+ * <p>
+ * The budget is {@code shareit.query-budget.max-statements} unless the endpoint,
+ * written as {@code METHOD /pattern}, has its own entry. With fail-on-exceed the
+ * statement over the budget throws, so the request fails through the error
+ * handler instead of after its response has been sent.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    private final int maxStatements;
+
+    private final Map<String, Integer> endpointBudgets;
+
+    private final boolean failOnExceed;
+
+    private final Map<String, DistributionSummary> statements = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> exceeded = new ConcurrentHashMap<>();
+
+    public QueryBudgetFilter(MeterRegistry registry, int maxStatements, Map<String, Integer> endpointBudgets,
+                             boolean failOnExceed) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.endpointBudgets = Map.copyOf(endpointBudgets);
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountInspector.Scope scope = QueryCountInspector.open(failOnExceed ? () -> budget(request) : null);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCountInspector.close();
+        }
+        String endpoint = endpoint(request);
+        statements.computeIfAbsent(endpoint, key -> DistributionSummary.builder("shareit.query.statements")
+                        .tag("endpoint", key)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(registry))
+                .record(scope.statements());
+        int budget = budget(request);
+        if (scope.statements() > budget) {
+            exceeded.computeIfAbsent(endpoint, key -> Counter.builder("shareit.query.budget.exceeded")
+                            .tag("endpoint", key)
+                            .register(registry))
+                    .increment();
+            log.warn("{} {}", endpoint, scope.describe(budget));
+        }
+    }
+
+    private int budget(HttpServletRequest request) {
+        return endpointBudgets.getOrDefault(endpoint(request), maxStatements);
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern.toString() : "UNMAPPED");
+    }
+}
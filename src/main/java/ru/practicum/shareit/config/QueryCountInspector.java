@@ -0,0 +1,90 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import ru.practicum.shareit.exceptions.QueryBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * request scope is open. Statements are grouped by shape, so repeated lookups
+ * that differ only in bind values or generated aliases show up as one entry.
+ * A scope opened with a limit fails the statement that goes over it, while the
+ * request is still being handled and nothing has been written to the response.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern ALIAS = Pattern.compile("\\b([a-z]+)\\d+_\\d+\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("in \\(\\?(,\\s*\\?)*\\)");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.shapes.merge(shape(sql), 1, Integer::sum);
+            if (scope.limit != null) {
+                int budget = scope.limit.getAsInt();
+                if (scope.statements > budget) {
+                    throw new QueryBudgetExceededException(scope.describe(budget));
+                }
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Opens a scope on the current thread; {@code limit} is read when a statement
+     * is counted, {@code null} only counts.
+     */
+    static Scope open(IntSupplier limit) {
+        Scope scope = new Scope(limit);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    private static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = ALIAS.matcher(shape).replaceAll("$1");
+        return IN_LIST.matcher(shape).replaceAll("in (?)");
+    }
+
+    static final class Scope {
+
+        private final IntSupplier limit;
+
+        private int statements;
+
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        private Scope(IntSupplier limit) {
+            this.limit = limit;
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        String describe(int budget) {
+            return String.format("ran %d SQL statements, budget is %d. Repeated: %s", statements, budget,
+                    shapes.entrySet().stream()
+                            .filter(entry -> entry.getValue() > 1)
+                            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                            .map(entry -> entry.getValue() + "x " + entry.getKey())
+                            .collect(Collectors.joining("; ", "[", "]")));
+        }
+    }
+}
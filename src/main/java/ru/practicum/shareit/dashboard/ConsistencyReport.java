@@ -0,0 +1,10 @@
+package ru.practicum.shareit.dashboard;
+
+public record ConsistencyReport(long missingItems, long staleItems, long orphanItems,
+                                long missingBookings, long staleBookings, long orphanBookings) {
+
+    public boolean isConsistent() {
+        return missingItems == 0 && staleItems == 0 && orphanItems == 0
+                && missingBookings == 0 && staleBookings == 0 && orphanBookings == 0;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.dashboard;
+
+import jakarta.persistence.*;
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model row for a booking of one of the owner's items, with the item
+ * copied in so the owner's booking list only joins the booker.
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "owner_dashboard_bookings")
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardBooking {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id")
+    private User booker;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "item_description")
+    private String itemDescription;
+
+    @Column(name = "item_available")
+    private Boolean itemAvailable;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.dashboard;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OwnerDashboardBookingRepository extends JpaRepository<OwnerDashboardBooking, Long> {
+    @EntityGraph(attributePaths = "booker")
+    List<OwnerDashboardBooking> findAllByOwnerId(Long ownerId, Pageable page);
+
+    @EntityGraph(attributePaths = "booker")
+    List<OwnerDashboardBooking> findAllByOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime now,
+                                                                              LocalDateTime now1, Pageable page);
+
+    @EntityGraph(attributePaths = "booker")
+    List<OwnerDashboardBooking> findAllByOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime now, Pageable page);
+
+    @EntityGraph(attributePaths = "booker")
+    List<OwnerDashboardBooking> findAllByOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime now, Pageable page);
+
+    @EntityGraph(attributePaths = "booker")
+    List<OwnerDashboardBooking> findAllByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable page);
+}
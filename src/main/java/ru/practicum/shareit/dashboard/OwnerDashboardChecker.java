@@ -0,0 +1,46 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares the owner dashboard with the source tables. Both are written in the
+ * same transaction, so any difference means a write path skipped the projector.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnerDashboardChecker {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public ConsistencyReport check() {
+        return new ConsistencyReport(
+                count("select count(*) from items i where not exists " +
+                        "(select 1 from owner_dashboard_items d where d.item_id = i.id)"),
+                count("select count(*) from items i join owner_dashboard_items d on d.item_id = i.id " +
+                        "where d.owner_id <> i.owner_id or d.name <> i.name or d.description <> i.description " +
+                        "or coalesce(d.is_available, false) <> coalesce(i.is_available, false) " +
+                        "or d.comment_count <> (select count(*) from comments c where c.item_id = i.id) " +
+                        "or (d.comment_count > 0 and d.comments is null)"),
+                count("select count(*) from owner_dashboard_items d where not exists " +
+                        "(select 1 from items i where i.id = d.item_id)"),
+                count("select count(*) from bookings b where not exists " +
+                        "(select 1 from owner_dashboard_bookings d where d.booking_id = b.id)"),
+                count("select count(*) from bookings b join items i on i.id = b.item_id " +
+                        "join owner_dashboard_bookings d on d.booking_id = b.id " +
+                        "where d.owner_id <> i.owner_id or d.item_id <> b.item_id or d.booker_id <> b.booker_id " +
+                        "or d.status <> b.status or d.start_date <> b.start_date or d.end_date <> b.end_date " +
+                        "or d.item_name <> i.name or d.item_description <> i.description " +
+                        "or coalesce(d.item_available, false) <> coalesce(i.is_available, false)"),
+                count("select count(*) from owner_dashboard_bookings d where not exists " +
+                        "(select 1 from bookings b where b.id = d.booking_id)"));
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/ownerdashboard} runs the consistency check,
+ * {@code POST /actuator/ownerdashboard} rebuilds the read model.
+ */
+@Component
+@Endpoint(id = "ownerdashboard")
+@RequiredArgsConstructor
+public class OwnerDashboardEndpoint {
+
+    private final OwnerDashboardChecker checker;
+
+    private final OwnerDashboardProjector projector;
+
+    @ReadOperation
+    public ConsistencyReport check() {
+        return checker.check();
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return projector.rebuild();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.dashboard;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Read model row for an item on its owner's dashboard. Comments are kept
+ * pre-rendered as JSON, so the owner's item list needs no joins.
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "owner_dashboard_items")
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardItem {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    private String name;
+
+    private String description;
+
+    @Column(name = "is_available")
+    private Boolean available;
+
+    @Column(name = "comment_count")
+    private Integer commentCount;
+
+    private String comments;
+}
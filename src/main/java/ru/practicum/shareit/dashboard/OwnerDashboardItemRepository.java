@@ -0,0 +1,9 @@
+package ru.practicum.shareit.dashboard;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OwnerDashboardItemRepository extends JpaRepository<OwnerDashboardItem, Long> {
+    List<OwnerDashboardItem> findAllByOwnerIdOrderByItemId(Long ownerId);
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.dashboard;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserMapper;
+
+import java.util.List;
+
+public class OwnerDashboardMapper {
+    public static ItemExtendedDto toItemExtendedDto(OwnerDashboardItem item, List<CommentResponseDto> comments) {
+        return ItemExtendedDto.builder()
+                .id(item.getItemId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .lastBooking(null)
+                .nextBooking(null)
+                .comments(comments)
+                .build();
+    }
+
+    public static BookingDto toBookingDto(OwnerDashboardBooking booking) {
+        return BookingDto.builder()
+                .id(booking.getBookingId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(ItemDto.builder()
+                        .id(booking.getItemId())
+                        .name(booking.getItemName())
+                        .description(booking.getItemDescription())
+                        .available(booking.getItemAvailable())
+                        .ownerId(booking.getOwnerId())
+                        .build())
+                .booker(UserMapper.toUserDto(booking.getBooker()))
+                .status(booking.getStatus())
+                .build();
+    }
+}
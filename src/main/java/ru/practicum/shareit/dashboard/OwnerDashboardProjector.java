@@ -0,0 +1,196 @@
+package ru.practicum.shareit.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the owner dashboard tables in step with the source tables. The services
+ * call it inside the transaction of the write, next to the outbox append, so an
+ * owner always sees their own changes and a rolled back write leaves no trace.
+ * Rows are written as idempotent upserts through JDBC; the JPA entities are only
+ * used for reading.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OwnerDashboardProjector {
+
+    private static final int COMMENT_CHUNK = 500;
+
+    private static final String MERGE_ITEMS = "merge into owner_dashboard_items d " +
+            "using (select i.id, i.owner_id, i.name, i.description, i.is_available, " +
+            "(select count(*) from comments c where c.item_id = i.id) as comment_count from items i) s " +
+            "on (d.item_id = s.id) " +
+            "when matched then update set owner_id = s.owner_id, name = s.name, description = s.description, " +
+            "is_available = s.is_available, comment_count = s.comment_count, comments = null " +
+            "when not matched then insert (item_id, owner_id, name, description, is_available, comment_count) " +
+            "values (s.id, s.owner_id, s.name, s.description, s.is_available, s.comment_count)";
+
+    private static final String MERGE_BOOKINGS = "merge into owner_dashboard_bookings d " +
+            "using (select b.id, i.owner_id, b.item_id, b.booker_id, b.start_date, b.end_date, b.status, " +
+            "i.name, i.description, i.is_available from bookings b join items i on i.id = b.item_id) s " +
+            "on (d.booking_id = s.id) " +
+            "when matched then update set owner_id = s.owner_id, item_id = s.item_id, booker_id = s.booker_id, " +
+            "start_date = s.start_date, end_date = s.end_date, status = s.status, item_name = s.name, " +
+            "item_description = s.description, item_available = s.is_available " +
+            "when not matched then insert (booking_id, owner_id, item_id, booker_id, start_date, end_date, status, " +
+            "item_name, item_description, item_available) " +
+            "values (s.id, s.owner_id, s.item_id, s.booker_id, s.start_date, s.end_date, s.status, " +
+            "s.name, s.description, s.is_available)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CommentRepository commentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemSaved(ItemSavedEvent event) {
+        itemsSaved(List.of(event));
+    }
+
+    /**
+     * Projects a batch of saved items with one JDBC batch per statement. Items
+     * without a row yet are new, so they have no booking rows to update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void itemsSaved(List<ItemSavedEvent> events) {
+        List<Object[]> rows = events.stream()
+                .map(event -> new Object[]{event.ownerId(), event.name(), event.description(), event.available(),
+                        event.itemId()})
+                .toList();
+        int[] updated = jdbcTemplate.batchUpdate("update owner_dashboard_items set owner_id = ?, name = ?, " +
+                "description = ?, is_available = ? where item_id = ?", rows);
+        List<Object[]> inserted = new ArrayList<>();
+        List<Object[]> existing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            (updated[i] == 0 ? inserted : existing).add(rows.get(i));
+        }
+        if (!inserted.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into owner_dashboard_items " +
+                    "(owner_id, name, description, is_available, item_id, comment_count) values (?, ?, ?, ?, ?, 0)",
+                    inserted);
+        }
+        if (!existing.isEmpty()) {
+            jdbcTemplate.batchUpdate("update owner_dashboard_bookings set owner_id = ?, item_name = ?, " +
+                    "item_description = ?, item_available = ? where item_id = ?", existing);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingSaved(BookingEvent booking) {
+        bookingsSaved(List.of(booking));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingsSaved(List<BookingEvent> bookings) {
+        int[] updated = jdbcTemplate.batchUpdate("update owner_dashboard_bookings set status = ?, start_date = ?, " +
+                        "end_date = ? where booking_id = ?",
+                bookings.stream()
+                        .map(booking -> new Object[]{booking.status().name(), Timestamp.valueOf(booking.start()),
+                                Timestamp.valueOf(booking.end()), booking.bookingId()})
+                        .toList());
+        List<Object[]> inserted = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (updated[i] == 0) {
+                BookingEvent booking = bookings.get(i);
+                inserted.add(new Object[]{booking.bookingId(), booking.bookerId(), Timestamp.valueOf(booking.start()),
+                        Timestamp.valueOf(booking.end()), booking.status().name(), booking.itemId()});
+            }
+        }
+        if (!inserted.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into owner_dashboard_bookings " +
+                    "(booking_id, owner_id, item_id, booker_id, start_date, end_date, status, " +
+                    "item_name, item_description, item_available) " +
+                    "select ?, i.owner_id, i.id, ?, ?, ?, ?, i.name, i.description, i.is_available " +
+                    "from items i where i.id = ?", inserted);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void commentAdded(Long itemId) {
+        refreshComments(List.of(itemId));
+    }
+
+    /**
+     * Brings the whole read model in line with the source tables. Rows are merged
+     * in place rather than deleted and inserted again, so projector writes running
+     * at the same time always find the rows they update and never insert one the
+     * rebuild inserts too: a source row is either committed with its dashboard row
+     * before the merge reads it, or not visible to the merge at all.
+     */
+    @Transactional
+    public Map<String, Integer> rebuild() {
+        int items = jdbcTemplate.update(MERGE_ITEMS);
+        int bookings = jdbcTemplate.update(MERGE_BOOKINGS);
+        int removed = jdbcTemplate.update("delete from owner_dashboard_bookings d " +
+                "where not exists (select 1 from bookings b where b.id = d.booking_id)") +
+                jdbcTemplate.update("delete from owner_dashboard_items d " +
+                        "where not exists (select 1 from items i where i.id = d.item_id)");
+        int commented = backfillComments();
+        log.info("Owner dashboard rebuilt: {} items, {} bookings, {} stale rows removed, {} items with comments",
+                items, bookings, removed, commented);
+        return Map.of("items", items, "bookings", bookings, "removed", removed, "itemsWithComments", commented);
+    }
+
+    /**
+     * Renders comments for rows that have them counted but not stored yet,
+     * which is what the migration and {@link #rebuild()} leave behind.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        backfillComments();
+    }
+
+    private int backfillComments() {
+        List<Long> itemIds = jdbcTemplate.queryForList("select item_id from owner_dashboard_items " +
+                "where comment_count > 0 and comments is null", Long.class);
+        for (int from = 0; from < itemIds.size(); from += COMMENT_CHUNK) {
+            refreshComments(itemIds.subList(from, Math.min(from + COMMENT_CHUNK, itemIds.size())));
+        }
+        return itemIds.size();
+    }
+
+    private void refreshComments(Collection<Long> itemIds) {
+        Map<Long, List<CommentResponseDto>> comments = commentRepository.findAllByItemIdIn(List.copyOf(itemIds))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentResponseDto, Collectors.toList())));
+        List<Object[]> rows = new ArrayList<>(itemIds.size());
+        for (Long itemId : itemIds) {
+            List<CommentResponseDto> itemComments = comments.getOrDefault(itemId, List.of());
+            rows.add(new Object[]{itemComments.isEmpty() ? null : write(itemComments), itemComments.size(), itemId});
+        }
+        jdbcTemplate.batchUpdate("update owner_dashboard_items set comments = ?, comment_count = ? where item_id = ?",
+                rows);
+    }
+
+    private String write(List<CommentResponseDto> comments) {
+        try {
+            return objectMapper.writeValueAsString(comments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot render comments", e);
+        }
+    }
+}
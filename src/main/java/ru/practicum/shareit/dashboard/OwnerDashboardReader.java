@@ -0,0 +1,62 @@
+package ru.practicum.shareit.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OwnerDashboardReader {
+
+    private static final TypeReference<List<CommentResponseDto>> COMMENTS = new TypeReference<>() {
+    };
+
+    private final OwnerDashboardItemRepository itemRepository;
+
+    private final OwnerDashboardBookingRepository bookingRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public List<ItemExtendedDto> findItems(Long ownerId) {
+        return itemRepository.findAllByOwnerIdOrderByItemId(ownerId).stream()
+                .map(item -> OwnerDashboardMapper.toItemExtendedDto(item, readComments(item)))
+                .toList();
+    }
+
+    public List<BookingDto> findBookings(Long ownerId, BookingState state, Pageable page) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OwnerDashboardBooking> bookings = switch (state) {
+            case ALL -> bookingRepository.findAllByOwnerId(ownerId, page);
+            case CURRENT -> bookingRepository.findAllByOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId, now, now, page);
+            case PAST -> bookingRepository.findAllByOwnerIdAndEndIsBefore(ownerId, now, page);
+            case FUTURE -> bookingRepository.findAllByOwnerIdAndStartIsAfter(ownerId, now, page);
+            case WAITING, REJECTED -> bookingRepository.findAllByOwnerIdAndStatus(ownerId,
+                    BookingStatus.valueOf(state.name()), page);
+        };
+        return bookings.stream()
+                .map(OwnerDashboardMapper::toBookingDto)
+                .toList();
+    }
+
+    private List<CommentResponseDto> readComments(OwnerDashboardItem item) {
+        if (item.getComments() == null || item.getCommentCount() == null || item.getCommentCount() == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(item.getComments(), COMMENTS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted comments of dashboard item " + item.getItemId(), e);
+        }
+    }
+}
@@ -2,13 +2,16 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtendedDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -25,6 +28,12 @@ public class ItemController {
         return itemService.addNewItem(userId, item);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> addBatch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @RequestBody List<ItemDto> items) {
+        return itemService.addNewItems(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @Valid @RequestBody ItemDto item, @PathVariable Long itemId) {
@@ -37,6 +46,15 @@ public class ItemController {
         return itemService.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam(value = "from", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(value = "to", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemExtendedDto> getUserItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.getUserItems(userId);
@@ -44,8 +62,10 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> search(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                @RequestParam String text) {
-        return itemService.search(userId, text);
+                                @RequestParam String text,
+                                @RequestParam(value = "from", defaultValue = "0") Integer from,
+                                @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return itemService.search(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
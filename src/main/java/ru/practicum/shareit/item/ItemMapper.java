@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.item.dto.ItemDetailsRow;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtendedDto;
 import ru.practicum.shareit.item.model.Item;
@@ -12,6 +13,7 @@ public class ItemMapper {
                 .description(item.getDescription())
                 .available(item.getAvailable())
                 .ownerId(item.getOwner().getId())
+                .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
                 .build();
     }
 
@@ -34,5 +36,15 @@ public class ItemMapper {
                 .nextBooking(null)
                 .build();
     }
-}
 
+    public static ItemExtendedDto toItemExtendedDto(ItemDetailsRow item) {
+        return ItemExtendedDto.builder()
+                .id(item.id())
+                .name(item.name())
+                .description(item.description())
+                .available(item.available())
+                .lastBooking(null)
+                .nextBooking(null)
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+
+public record CachedItem(Long ownerId, ItemExtendedDto item) {
+}
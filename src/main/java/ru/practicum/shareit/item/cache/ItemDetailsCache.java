@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Assembled item pages. The public view is shared by every non-owner, the owner
+ * view additionally carries the last and next booking. Both are dropped together
+ * whenever something that affects the page changes; the TTL bounds how long the
+ * booking dates can lag behind the clock.
+ */
+@Component
+public class ItemDetailsCache {
+
+    private final Cache<Long, CachedItem> publicViews;
+
+    private final Cache<Long, ItemExtendedDto> ownerViews;
+
+    public ItemDetailsCache(@Value("${shareit.cache.items.maximum-size:10000}") long maximumSize,
+                            @Value("${shareit.cache.items.expire-after-write:60s}") Duration expireAfterWrite,
+                            MeterRegistry meterRegistry) {
+        this.publicViews = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.ownerViews = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, publicViews, "items.public");
+        CaffeineCacheMetrics.monitor(meterRegistry, ownerViews, "items.owner");
+    }
+
+    public CachedItem getPublicView(Long itemId, Supplier<CachedItem> loader) {
+        return publicViews.get(itemId, id -> loader.get());
+    }
+
+    public ItemExtendedDto getOwnerView(Long itemId, Supplier<ItemExtendedDto> loader) {
+        return ownerViews.get(itemId, id -> loader.get());
+    }
+
+    public void evict(Long itemId) {
+        publicViews.invalidate(itemId);
+        ownerViews.invalidate(itemId);
+    }
+}
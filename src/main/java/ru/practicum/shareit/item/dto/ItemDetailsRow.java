@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the item page query: the item columns repeated for each of its
+ * comments, or a single row with empty comment columns.
+ */
+public record ItemDetailsRow(Long id,
+                             String name,
+                             String description,
+                             Boolean available,
+                             Long ownerId,
+                             Long commentId,
+                             String commentText,
+                             String authorName,
+                             LocalDate commentCreated) {
+}
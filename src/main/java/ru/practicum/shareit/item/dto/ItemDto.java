@@ -11,4 +11,5 @@ public class ItemDto {
     private String description;
     private Boolean available;
     private Long ownerId;
+    private Long requestId;
 }
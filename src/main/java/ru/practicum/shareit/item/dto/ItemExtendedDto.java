@@ -2,14 +2,14 @@ package ru.practicum.shareit.item.dto;
 
 import lombok.Builder;
 import lombok.Data;
-import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentResponseDto;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ItemExtendedDto {
     private Long id;
     private String name;
@@ -18,5 +18,5 @@ public class ItemExtendedDto {
     private User owner;
     private LocalDateTime lastBooking;
     private LocalDateTime nextBooking;
-    private List<Comment> comments;
+    private List<CommentResponseDto> comments;
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.event;
+
+import ru.practicum.shareit.item.model.Item;
+
+public record ItemSavedEvent(Long itemId, Long ownerId, String name, String description, Boolean available,
+                             Long requestId) {
+
+    public static ItemSavedEvent of(Item item) {
+        return new ItemSavedEvent(item.getId(), item.getOwner().getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getRequest() == null ? null : item.getRequest().getId());
+    }
+}
@@ -1,16 +1,44 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemDetailsRow;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long userId);
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long id);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDetailsRow(it.id, it.name, it.description, it.available, " +
+            "it.owner.id, c.id, c.text, a.name, c.created) " +
+            "from Item as it left join Comment as c on c.item = it left join c.author as a " +
+            "where it.id = ?1 order by c.id")
+    List<ItemDetailsRow> findItemDetails(Long itemId);
+
+    boolean existsByOwnerId(Long userId);
+
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 
     @Query("select it from Item as it where it.available = true and " +
             "(lower(it.name) like lower(concat('%', ?1,'%')) or " +
-            "lower(it.description) like lower(concat('%', ?1,'%')))")
-    List<Item> findByQuery(String text);
+            "lower(it.description) like lower(concat('%', ?1,'%'))) " +
+            "order by case when lower(it.name) like lower(concat('%', ?1,'%')) then 0 else 1 end, it.id")
+    List<Item> findByQuery(String text, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Item> streamAllByAvailableTrue();
 }
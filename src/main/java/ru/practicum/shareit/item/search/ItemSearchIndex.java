@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.search.LongPostings;
+import ru.practicum.shareit.search.Tokenizer;
+
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the name and description of available items.
+ * Every query token is matched as a prefix of the indexed tokens, and all query
+ * tokens have to match for an item to be returned. Names are indexed on their own
+ * as well, so items matching by name can be ranked first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.index.enabled", havingValue = "true")
+public class ItemSearchIndex {
+
+    private final ItemRepository itemRepository;
+
+    private final EntityManager entityManager;
+
+    private final NavigableMap<String, LongPostings> terms = new TreeMap<>();
+
+    private final NavigableMap<String, LongPostings> nameTerms = new TreeMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long count = 0;
+        try (Stream<Item> items = itemRepository.streamAllByAvailableTrue()) {
+            for (Item item : (Iterable<Item>) items::iterator) {
+                add(item);
+                entityManager.detach(item);
+                count++;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            terms.values().forEach(LongPostings::trimToSize);
+            nameTerms.values().forEach(LongPostings::trimToSize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Item search index built: {} items, {} terms", count, terms.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            addTokens(item.getId(), item.getName(), item.getDescription());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replace(Long itemId, String oldName, String oldDescription, Item item) {
+        lock.writeLock().lock();
+        try {
+            removeTokens(itemId, oldName, oldDescription);
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                addTokens(itemId, item.getName(), item.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of matching items, those matching by name first, as the database
+     * search orders them, then the rest, each part in ascending order.
+     */
+    public long[] search(String text) {
+        Set<String> queryTokens = Tokenizer.tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] matches = match(terms, queryTokens);
+            if (matches.length == 0) {
+                return matches;
+            }
+            long[] byName = LongPostings.intersect(matches, match(nameTerms, queryTokens));
+            long[] result = new long[matches.length];
+            System.arraycopy(byName, 0, result, 0, byName.length);
+            long[] rest = LongPostings.subtract(matches, byName);
+            System.arraycopy(rest, 0, result, byName.length, rest.length);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long[] match(NavigableMap<String, LongPostings> terms, Set<String> queryTokens) {
+        long[] result = null;
+        for (String token : queryTokens) {
+            long[] matches = LongPostings.union(
+                    terms.subMap(token, true, token + Character.MAX_VALUE, false).values());
+            result = result == null ? matches : LongPostings.intersect(result, matches);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void addTokens(long itemId, String name, String description) {
+        add(terms, itemId, Tokenizer.tokenize(name, description));
+        add(nameTerms, itemId, Tokenizer.tokenize(name));
+    }
+
+    private void removeTokens(long itemId, String name, String description) {
+        remove(terms, itemId, Tokenizer.tokenize(name, description));
+        remove(nameTerms, itemId, Tokenizer.tokenize(name));
+    }
+
+    private static void add(NavigableMap<String, LongPostings> terms, long itemId, Set<String> tokens) {
+        for (String token : tokens) {
+            terms.computeIfAbsent(token, key -> new LongPostings()).add(itemId);
+        }
+    }
+
+    private static void remove(NavigableMap<String, LongPostings> terms, long itemId, Set<String> tokens) {
+        for (String token : tokens) {
+            LongPostings postings = terms.get(token);
+            if (postings != null && postings.remove(itemId) && postings.isEmpty()) {
+                terms.remove(token);
+            }
+        }
+    }
+}
@@ -2,22 +2,28 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.comment.CommentDto;
 import ru.practicum.shareit.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtendedDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto addNewItem(Long userId, ItemDto item);
 
+    List<ItemDto> addNewItems(Long userId, List<ItemDto> items);
+
     ItemDto updateItem(Long userId, Long itemId, ItemDto item);
 
     ItemExtendedDto getItemById(Long itemId, Long userId);
 
     List<ItemExtendedDto> getUserItems(Long userId);
 
-    List<ItemDto> search(Long userId, String text);
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemDto> search(Long userId, String text, Integer from, Integer size);
 
     CommentResponseDto addNewComment(Long itemId, Long userId, CommentDto comment);
 }
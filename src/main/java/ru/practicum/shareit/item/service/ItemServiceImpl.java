@@ -1,33 +1,62 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.*;
+import ru.practicum.shareit.common.Paging;
+import ru.practicum.shareit.common.ServiceMetrics;
+import ru.practicum.shareit.dashboard.OwnerDashboardProjector;
+import ru.practicum.shareit.dashboard.OwnerDashboardReader;
 import ru.practicum.shareit.exceptions.CommentConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.cache.CachedItem;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDetailsRow;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.outbox.OutboxWriter;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.99, 0.999})
 public class ItemServiceImpl implements ItemService {
 
+    private static final long AVAILABILITY_DEFAULT_DAYS = 30;
+
+    private static final String AGGREGATE_TYPE = "Item";
+
     private final ItemRepository itemRepository;
 
     private final UserRepository userRepository;
@@ -36,13 +65,104 @@ public class ItemServiceImpl implements ItemService {
 
     private final CommentRepository commentRepository;
 
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final Optional<ItemSearchIndex> itemSearchIndex;
+
+    private final ItemDetailsCache itemDetailsCache;
+
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    private final ServiceMetrics serviceMetrics;
+
+    private final OutboxWriter outboxWriter;
+
+    private final OwnerDashboardReader ownerDashboardReader;
+
+    private final OwnerDashboardProjector ownerDashboardProjector;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${shareit.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${shareit.paging.max-size:1000}")
+    private int maxPageSize;
+
     @Override
     public ItemDto addNewItem(Long userId, ItemDto item) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         Item newItem = ItemMapper.toItem(item);
         newItem.setOwner(user);
-        return ItemMapper.toItemDto(itemRepository.save(newItem));
+        if (item.getRequestId() != null) {
+            newItem.setRequest(itemRequestRepository.findById(item.getRequestId())
+                    .orElseThrow(() -> new NotFoundException("Request not found")));
+        }
+        Item savedItem = transactionTemplate.execute(status -> recordItemSaved(itemRepository.save(newItem)));
+        itemSearchIndex.ifPresent(index -> index.add(savedItem));
+        return ItemMapper.toItemDto(savedItem);
+    }
+
+    @Override
+    public List<ItemDto> addNewItems(Long userId, List<ItemDto> items) {
+        if (items == null || items.isEmpty() || items.size() > maxBatchSize) {
+            throw new ValidationException("Batch must contain from 1 to " + maxBatchSize + " items");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        Map<Long, ItemRequest> requests = findRequests(items);
+        List<Item> newItems = new ArrayList<>(items.size());
+        for (ItemDto itemDto : items) {
+            if (itemDto.getName() == null || itemDto.getName().isBlank()
+                    || itemDto.getDescription() == null || itemDto.getDescription().isBlank()
+                    || itemDto.getAvailable() == null) {
+                throw new ValidationException("Item name, description and available are required");
+            }
+            Item newItem = ItemMapper.toItem(itemDto);
+            newItem.setOwner(user);
+            newItem.setRequest(itemDto.getRequestId() != null ? requests.get(itemDto.getRequestId()) : null);
+            newItems.add(newItem);
+        }
+        // one transaction, so the inserts go out as JDBC batches with pooled ids
+        List<Item> savedItems = transactionTemplate.execute(status -> {
+            List<Item> saved = itemRepository.saveAll(newItems);
+            List<ItemSavedEvent> events = new ArrayList<>(saved.size());
+            for (Item item : saved) {
+                ItemSavedEvent event = ItemSavedEvent.of(item);
+                outboxWriter.append(AGGREGATE_TYPE, item.getId(), event);
+                events.add(event);
+            }
+            ownerDashboardProjector.itemsSaved(events);
+            return saved;
+        });
+        itemSearchIndex.ifPresent(index -> savedItems.forEach(index::add));
+        return savedItems.stream()
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    private Item recordItemSaved(Item item) {
+        ItemSavedEvent event = ItemSavedEvent.of(item);
+        outboxWriter.append(AGGREGATE_TYPE, item.getId(), event);
+        ownerDashboardProjector.itemSaved(event);
+        return item;
+    }
+
+    private Map<Long, ItemRequest> findRequests(List<ItemDto> items) {
+        Set<Long> requestIds = items.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (requests.size() != requestIds.size()) {
+            throw new NotFoundException("Request not found");
+        }
+        return requests;
     }
 
     @Override
@@ -53,83 +173,121 @@ public class ItemServiceImpl implements ItemService {
         Item oldItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
         Item item = ItemMapper.toItem(itemDto);
-        if (!oldItem.getOwner().equals(user)) {
+        if (!Objects.equals(oldItem.getOwner().getId(), user.getId())) {
             throw new NotFoundException("Item not found");
         }
-        return ItemMapper.toItemDto(itemRepository.save(updateItem(oldItem, item)));
+        String oldName = oldItem.getName();
+        String oldDescription = oldItem.getDescription();
+        Item updatedItem = transactionTemplate.execute(status ->
+                recordItemSaved(itemRepository.save(updateItem(oldItem, item))));
+        itemDetailsCache.evict(itemId);
+        itemSearchIndex.ifPresent(index -> index.replace(itemId, oldName, oldDescription, updatedItem));
+        return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
     public ItemExtendedDto getItemById(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item not found"));
-        ItemExtendedDto itemExtendedDto = ItemMapper.toItemExtendedDto(item);
-        if (Objects.equals(userId, item.getOwner().getId())) {
-            Sort prevSort = Sort.by("end").descending();
-            Booking prevBooking = bookingRepository.findFirstByItemIdAndEndIsBeforeAndStatus(itemExtendedDto.getId(),
-                    LocalDateTime.now(), BookingStatus.APPROVED, prevSort);
+        CachedItem cachedItem = itemDetailsCache.getPublicView(itemId, () -> loadPublicView(itemId));
+        if (Objects.equals(userId, cachedItem.ownerId())) {
+            return itemDetailsCache.getOwnerView(itemId, () -> loadOwnerView(cachedItem.item()));
+        }
+        return cachedItem.item();
+    }
 
-            if (prevBooking != null) {
-                itemExtendedDto.setLastBooking(prevBooking.getEnd());
-            }
-            Sort nextSort = Sort.by("start").descending();
-            Booking nextBooking = bookingRepository.findFirstByItemIdAndStartIsAfterAndStatus(itemId,
-                    LocalDateTime.now(), BookingStatus.APPROVED, nextSort);
-            if (nextBooking != null) {
-                itemExtendedDto.setNextBooking(nextBooking.getStart());
-            }
+    private CachedItem loadPublicView(Long itemId) {
+        List<ItemDetailsRow> rows = itemRepository.findItemDetails(itemId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Item not found");
         }
+        ItemDetailsRow item = rows.get(0);
+        ItemExtendedDto itemExtendedDto = ItemMapper.toItemExtendedDto(item);
 
-        List<Comment> comments = commentRepository.findAllByItemId(item.getId());
-        if (comments != null && !comments.isEmpty()) {
+        List<CommentResponseDto> comments = rows.stream()
+                .filter(row -> row.commentId() != null)
+                .map(CommentMapper::toCommentResponseDto)
+                .toList();
+        if (!comments.isEmpty()) {
             itemExtendedDto.setComments(comments);
         }
 
+        return new CachedItem(item.ownerId(), itemExtendedDto);
+    }
+
+    private ItemExtendedDto loadOwnerView(ItemExtendedDto publicView) {
+        ItemExtendedDto itemExtendedDto = publicView.toBuilder().build();
+        LocalDateTime now = LocalDateTime.now();
+        itemExtendedDto.setLastBooking(bookingIntervalIndex.findLastBookingEnd(itemExtendedDto.getId(), now));
+        itemExtendedDto.setNextBooking(bookingIntervalIndex.findNextBookingStart(itemExtendedDto.getId(), now));
         return itemExtendedDto;
     }
 
     @Override
     public List<ItemExtendedDto> getUserItems(Long userId) {
+        return serviceMetrics.timeList("items.owner", Tags.empty(), () -> loadUserItems(userId));
+    }
+
+    private List<ItemExtendedDto> loadUserItems(Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        List<ItemExtendedDto> items = itemRepository.findAllByOwnerId(userId).stream()
-                .map(ItemMapper::toItemExtendedDto)
-                .toList();
-
-        List<Long> itemIds = items.stream().map(ItemExtendedDto::getId).toList();
-        Sort prevSort = Sort.by("end").descending();
-        List<Booking> prevBookingList = bookingRepository.findAllByItemIdInAndEndIsBeforeAndStatus(itemIds,
-                LocalDateTime.now(), BookingStatus.APPROVED, prevSort);
-
-        Sort nextSort = Sort.by("start").ascending();
-        List<Booking> nextBookingList = bookingRepository.findAllByItemIdInAndStartIsAfterAndStatus(itemIds,
-                LocalDateTime.now(), BookingStatus.APPROVED, nextSort);
-        List<Comment> commentsList = commentRepository.findAllByItemIdIn(itemIds);
+        List<ItemExtendedDto> items = ownerDashboardReader.findItems(userId);
+        LocalDateTime now = LocalDateTime.now();
         for (ItemExtendedDto itemExtendedDto : items) {
-
-            Optional<Booking> prevBooking = prevBookingList.stream()
-                    .filter(booking -> itemExtendedDto.getId().equals(booking.getItem().getId())).findFirst();
-            prevBooking.ifPresent(booking -> itemExtendedDto.setLastBooking(booking.getEnd()));
-            Optional<Booking> nextBooking = nextBookingList.stream()
-                    .filter(booking -> itemExtendedDto.getId().equals(booking.getItem().getId())).findFirst();
-            nextBooking.ifPresent(booking -> itemExtendedDto.setNextBooking(booking.getStart()));
-
-            List<Comment> comments = commentsList.stream().filter(comment -> itemExtendedDto.getId().equals(comment.getItem().getId())).toList();
-            if (!comments.isEmpty()) {
-                itemExtendedDto.setComments(comments);
-            }
+            itemExtendedDto.setLastBooking(bookingIntervalIndex.findLastBookingEnd(itemExtendedDto.getId(), now));
+            itemExtendedDto.setNextBooking(bookingIntervalIndex.findNextBookingStart(itemExtendedDto.getId(), now));
         }
         return items;
     }
 
     @Override
-    public List<ItemDto> search(Long userId, String text) {
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item not found");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(AVAILABILITY_DEFAULT_DAYS);
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Start date or End date error");
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(start)
+                .to(end)
+                .available(!bookingIntervalIndex.isBooked(itemId, start, end))
+                .lastBooking(bookingIntervalIndex.findLastBookingEnd(itemId, start))
+                .nextBooking(bookingIntervalIndex.findNextBookingStart(itemId, start))
+                .freeSlots(bookingIntervalIndex.findFreeSlots(itemId, start, end))
+                .build();
+    }
+
+    @Override
+    public List<ItemDto> search(Long userId, String text, Integer from, Integer size) {
+        Pageable page = Paging.of(from, size, maxPageSize);
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        return itemRepository.findByQuery(text).stream()
+        if (itemSearchIndex.isPresent() && itemSearchIndex.get().isReady()) {
+            return serviceMetrics.timeList("items.search", Tags.of("source", "index"), () ->
+                    searchInIndex(itemSearchIndex.get(), text, page));
+        }
+        return serviceMetrics.timeList("items.search", Tags.of("source", "database"), () ->
+                itemRepository.findByQuery(text, page).stream()
+                        .map(ItemMapper::toItemDto)
+                        .toList());
+    }
+
+    private List<ItemDto> searchInIndex(ItemSearchIndex index, String text, Pageable page) {
+        long[] itemIds = index.search(text);
+        int start = (int) Math.min(page.getOffset(), itemIds.length);
+        int end = Math.min(start + page.getPageSize(), itemIds.length);
+        List<Long> pageIds = Arrays.stream(itemIds, start, end).boxed().toList();
+        // keeps the index's ranking: name matches first, as findByQuery orders them
+        Map<Long, Item> items = itemRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(ItemMapper::toItemDto)
                 .toList();
     }
@@ -162,7 +320,15 @@ public class ItemServiceImpl implements ItemService {
                     .text(comment.getText())
                     .created(LocalDate.now())
                     .build();
-            return CommentMapper.toCommentResponseDto(commentRepository.save(newComment));
+            Comment savedComment = transactionTemplate.execute(status -> {
+                Comment saved = commentRepository.save(newComment);
+                outboxWriter.append("Comment", saved.getId(),
+                        new CommentAddedEvent(saved.getId(), item.getId(), author.getId()));
+                ownerDashboardProjector.commentAdded(item.getId());
+                return saved;
+            });
+            itemDetailsCache.evict(item.getId());
+            return CommentMapper.toCommentResponseDto(savedComment);
         }
         throw new CommentConflictException("User can`t comment this item");
     }
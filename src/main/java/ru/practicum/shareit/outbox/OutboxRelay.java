@@ -0,0 +1,194 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.event.BookingCreatedEvent;
+import ru.practicum.shareit.booking.event.BookingStatusChangedEvent;
+import ru.practicum.shareit.comment.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Drains the outbox and publishes each event to in-process listeners, at least
+ * once and in order per aggregate.
+ * <p>
+ * Every event is delivered in its own transaction, which locks the row and
+ * deletes it once the listeners have returned. When a listener fails, only that
+ * transaction rolls back: the event stays in the table with its attempt count
+ * and is retried with exponential backoff, and later events of the same
+ * aggregate wait for it. After {@code shareit.outbox.max-attempts} the event is
+ * marked {@link OutboxStatus#DEAD} and kept for inspection, which releases the
+ * aggregate.
+ * <p>
+ * With several application instances, each must run with its own
+ * {@code shareit.outbox.partition} out of {@code shareit.outbox.partitions}, so
+ * every aggregate is relayed by exactly one instance.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Stream.of(BookingCreatedEvent.class,
+                    BookingStatusChangedEvent.class, CommentAddedEvent.class, ItemSavedEvent.class)
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final Duration retryDelay;
+
+    private final Duration maxRetryDelay;
+
+    private final long partitions;
+
+    private final long partition;
+
+    private final Counter published;
+
+    private final Counter failed;
+
+    private final Counter dead;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry registry,
+                       @Value("${shareit.outbox.batch-size:500}") int batchSize,
+                       @Value("${shareit.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${shareit.outbox.retry-delay:1s}") Duration retryDelay,
+                       @Value("${shareit.outbox.max-retry-delay:5m}") Duration maxRetryDelay,
+                       @Value("${shareit.outbox.partitions:1}") long partitions,
+                       @Value("${shareit.outbox.partition:0}") long partition) {
+        if (partitions < 1 || partition < 0 || partition >= partitions) {
+            throw new IllegalArgumentException("Outbox partition must be in [0, " + partitions + ")");
+        }
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.partitions = partitions;
+        this.partition = partition;
+        this.published = Counter.builder("shareit.outbox.published").register(registry);
+        this.failed = Counter.builder("shareit.outbox.failed").register(registry);
+        this.dead = Counter.builder("shareit.outbox.dead").register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.outbox.initial-delay:0s}",
+            fixedDelayString = "${shareit.outbox.poll-interval:200ms}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxRepository.findDue(LocalDateTime.now(), partitions, partition,
+                Limit.of(batchSize));
+        Set<String> blocked = new HashSet<>();
+        for (OutboxEvent event : events) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (!blocked.contains(aggregate) && !deliver(event.getId())) {
+                blocked.add(aggregate);
+            }
+        }
+        return events.size();
+    }
+
+    /**
+     * Returns false when the event is left for a retry, so that the rest of its
+     * aggregate is held back.
+     */
+    private boolean deliver(Long eventId) {
+        try {
+            Boolean delivered = transactionTemplate.execute(status -> outboxRepository.findLockedById(eventId)
+                    .map(event -> {
+                        eventPublisher.publishEvent(read(event));
+                        outboxRepository.delete(event);
+                        return true;
+                    })
+                    .orElse(false));
+            if (Boolean.TRUE.equals(delivered)) {
+                published.increment();
+            }
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            Boolean retried = transactionTemplate.execute(status -> outboxRepository.findById(eventId)
+                    .map(event -> recordFailure(event, e))
+                    .orElse(false));
+            return !Boolean.TRUE.equals(retried);
+        }
+    }
+
+    private boolean recordFailure(OutboxEvent event, RuntimeException error) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(abbreviate(error.toString()));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxStatus.DEAD);
+            dead.increment();
+            log.error("Outbox event {} {} of {} {} is dead after {} attempts", event.getId(), event.getEventType(),
+                    event.getAggregateType(), event.getAggregateId(), event.getAttempts(), error);
+            return false;
+        }
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff(event.getAttempts())));
+        log.warn("Failed to relay outbox event {} {} of {} {}, attempt {}", event.getId(), event.getEventType(),
+                event.getAggregateType(), event.getAggregateId(), event.getAttempts(), error);
+        return true;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private Object read(OutboxEvent event) {
+        Class<?> type = EVENT_TYPES.get(event.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown outbox event type " + event.getEventType());
+        }
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read outbox event " + event.getId(), e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Pending events of this relay's partition that are due, oldest first. An event
+     * is held back while an earlier event of the same aggregate waits for a retry,
+     * so every aggregate's events are delivered in order.
+     */
+    @Query("select e from OutboxEvent as e where e.status = ru.practicum.shareit.outbox.OutboxStatus.PENDING " +
+            "and e.nextAttemptAt <= ?1 and mod(e.aggregateId, ?2) = ?3 " +
+            "and not exists (select 1 from OutboxEvent as p where p.aggregateType = e.aggregateType " +
+            "and p.aggregateId = e.aggregateId and p.id < e.id " +
+            "and p.status = ru.practicum.shareit.outbox.OutboxStatus.PENDING and p.nextAttemptAt > ?1) " +
+            "order by e.id")
+    List<OutboxEvent> findDue(LocalDateTime now, long partitions, long partition, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OutboxEvent as e where e.id = ?1")
+    Optional<OutboxEvent> findLockedById(Long id);
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.outbox;
+
+public enum OutboxStatus {
+    PENDING,
+    DEAD
+}
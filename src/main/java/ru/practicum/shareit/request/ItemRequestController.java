@@ -1,12 +1,57 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
-/**
- * TODO Sprint add-item-requests.
- */
 @RestController
 @RequestMapping(path = "/requests")
+@RequiredArgsConstructor
 public class ItemRequestController {
+
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ItemRequestDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 @Valid @RequestBody ItemRequestDto itemRequest) {
+        return itemRequestService.create(userId, itemRequest);
+    }
+
+    @GetMapping
+    public List<ItemRequestDto> getOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemRequestService.getOwnRequests(userId);
+    }
+
+    /**
+     * Newest first. The next page starts after the last request of the previous
+     * one: pass its {@code created} and {@code id} as the cursor.
+     */
+    @GetMapping("/all")
+    public List<ItemRequestDto> getOtherRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestParam(value = "createdBefore", required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime createdBefore,
+                                                 @RequestParam(value = "idBefore", required = false) Long idBefore,
+                                                 @RequestParam(value = "size", defaultValue = "20") Integer size) {
+        return itemRequestService.getOtherRequests(userId, createdBefore, idBefore, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @PathVariable Long requestId) {
+        return itemRequestService.getById(userId, requestId);
+    }
+
+    @GetMapping("/{requestId}/matches")
+    public List<ItemDto> getMatches(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @PathVariable Long requestId) {
+        return itemRequestService.getMatches(userId, requestId);
+    }
 }
@@ -1,13 +1,24 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.List;
+
 public class ItemRequestMapper {
-    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
+    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest, List<ItemDto> items) {
         return ItemRequestDto.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
-                .requestor(itemRequest.getRequestor() != null ? itemRequest.getRequestor() : null)
-                .created(itemRequest.getCreated()).build();
+                .requestorId(itemRequest.getRequestor() != null ? itemRequest.getRequestor().getId() : null)
+                .created(itemRequest.getCreated())
+                .items(items)
+                .build();
+    }
+
+    public static ItemRequest toItemRequest(ItemRequestDto itemRequestDto) {
+        return ItemRequest.builder()
+                .description(itemRequestDto.getDescription())
+                .build();
     }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.dto;
+
+import java.time.LocalDateTime;
+
+public interface OpenRequest {
+    Long getId();
+
+    Long getRequestorId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.request.match;
+
+import ru.practicum.shareit.search.LongPostings;
+import ru.practicum.shareit.search.Tokenizer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over the descriptions of open item requests. An item is scored
+ * against a request by the share of the request's tokens that occur in the
+ * item's name or description.
+ */
+public class OpenRequestIndex {
+
+    private final Map<String, LongPostings> terms = new HashMap<>();
+
+    private final Map<Long, IndexedRequest> requests = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(long requestId, long requestorId, String description, LocalDateTime created) {
+        Set<String> tokens = Tokenizer.tokenize(description);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            IndexedRequest previous = requests.put(requestId,
+                    new IndexedRequest(requestorId, created, tokens.toArray(new String[0])));
+            if (previous != null) {
+                removeTokens(requestId, previous.tokens());
+            }
+            for (String token : tokens) {
+                terms.computeIfAbsent(token, key -> new LongPostings()).add(requestId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long requestId) {
+        lock.writeLock().lock();
+        try {
+            IndexedRequest request = requests.remove(requestId);
+            if (request != null) {
+                removeTokens(requestId, request.tokens());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the requests created before {@code cutoff} and returns how many there were.
+     */
+    public int removeCreatedBefore(LocalDateTime cutoff) {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<Long, IndexedRequest>> entries = requests.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, IndexedRequest> entry = entries.next();
+                if (entry.getValue().created().isBefore(cutoff)) {
+                    entries.remove();
+                    removeTokens(entry.getKey(), entry.getValue().tokens());
+                    removed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return removed;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return requests.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best scoring requests not made by the item's owner, highest score first.
+     */
+    public List<RequestMatch> match(long ownerId, String name, String description, double minScore, int limit) {
+        Set<String> tokens = Tokenizer.tokenize(name, description);
+        Map<Long, int[]> hits = new HashMap<>();
+        List<RequestMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                LongPostings postings = terms.get(token);
+                if (postings != null) {
+                    postings.forEach(requestId -> hits.computeIfAbsent(requestId, id -> new int[1])[0]++);
+                }
+            }
+            hits.forEach((requestId, count) -> {
+                IndexedRequest request = requests.get(requestId);
+                double score = (double) count[0] / request.tokens().length;
+                if (score >= minScore && request.requestorId() != ownerId) {
+                    matches.add(new RequestMatch(requestId, score));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(RequestMatch::score).reversed()
+                        .thenComparingLong(RequestMatch::requestId))
+                .limit(limit)
+                .toList();
+    }
+
+    private void removeTokens(long requestId, String[] tokens) {
+        for (String token : tokens) {
+            LongPostings postings = terms.get(token);
+            if (postings != null && postings.remove(requestId) && postings.isEmpty()) {
+                terms.remove(token);
+            }
+        }
+    }
+
+    private record IndexedRequest(long requestorId, LocalDateTime created, String[] tokens) {
+    }
+}
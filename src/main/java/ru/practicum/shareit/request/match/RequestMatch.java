@@ -0,0 +1,4 @@
+package ru.practicum.shareit.request.match;
+
+public record RequestMatch(long requestId, double score) {
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class RequestMatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replaces all stored matches of the given items with the new ones.
+     * Each row is {@code {requestId, itemId, score}}.
+     */
+    public void replace(List<Long> itemIds, List<Object[]> matches, Timestamp matchedAt) {
+        jdbcTemplate.batchUpdate("delete from request_matches where item_id = ?",
+                itemIds.stream().map(itemId -> new Object[]{itemId}).toList());
+        jdbcTemplate.batchUpdate("insert into request_matches (request_id, item_id, score, matched_at) " +
+                        "values (?, ?, ?, ?)",
+                matches.stream().map(match -> new Object[]{match[0], match[1], match[2], matchedAt}).toList());
+    }
+
+    public List<Long> findItemIds(Long requestId) {
+        return jdbcTemplate.queryForList("select item_id from request_matches where request_id = ? " +
+                "order by score desc, item_id", Long.class, requestId);
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.request.match;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.OpenRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Matches new and updated items against open requests off the request thread.
+ * Items arrive from the outbox relay, are scored against {@link OpenRequestIndex} and their rows in
+ * request_matches are replaced in the relay's transaction, so a failed or interrupted match leaves
+ * the event in the outbox to be relayed again.
+ * <p>
+ * A request is open while no item has been added for it and it is younger than
+ * {@code shareit.requests.matching.max-age}. It leaves the index when an item is saved with its id,
+ * and the periodic sweep drops those that have aged out.
+ */
+@Slf4j
+@Component
+public class RequestMatcher {
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final RequestMatchRepository requestMatchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OpenRequestIndex index = new OpenRequestIndex();
+
+    private final double minScore;
+
+    private final int maxMatches;
+
+    private final Duration maxAge;
+
+    private final Counter expired;
+
+    private final Timer matchTimer;
+
+    public RequestMatcher(ItemRequestRepository itemRequestRepository,
+                          RequestMatchRepository requestMatchRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry registry,
+                          @Value("${shareit.requests.matching.min-score:0.5}") double minScore,
+                          @Value("${shareit.requests.matching.max-matches:20}") int maxMatches,
+                          @Value("${shareit.requests.matching.max-age:30d}") Duration maxAge) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.requestMatchRepository = requestMatchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minScore = minScore;
+        this.maxMatches = maxMatches;
+        this.maxAge = maxAge;
+        this.expired = Counter.builder("shareit.requests.matching.expired").register(registry);
+        this.matchTimer = Timer.builder("shareit.requests.matching.match")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("shareit.requests.matching.open", index, OpenRequestIndex::size).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<OpenRequest> requests = itemRequestRepository.streamOpenRequests(openSince())) {
+                requests.forEach(request -> index.add(request.getId(), request.getRequestorId(),
+                        request.getDescription(), request.getCreated()));
+            }
+        });
+        log.info("Request matcher started with {} open requests", index.size());
+    }
+
+    public void addRequest(ItemRequest request) {
+        index.add(request.getId(), request.getRequestor().getId(), request.getDescription(), request.getCreated());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onItemSaved(ItemSavedEvent item) {
+        if (item.requestId() != null) {
+            index.remove(item.requestId());
+        }
+        matchTimer.record(() -> match(item));
+    }
+
+    @Scheduled(initialDelayString = "${shareit.requests.matching.sweep-interval:1h}",
+            fixedDelayString = "${shareit.requests.matching.sweep-interval:1h}")
+    public void removeExpired() {
+        int removed = index.removeCreatedBefore(openSince());
+        if (removed > 0) {
+            expired.increment(removed);
+            log.info("Removed {} expired requests from the matcher", removed);
+        }
+    }
+
+    private LocalDateTime openSince() {
+        return LocalDateTime.now().minus(maxAge);
+    }
+
+    private void match(ItemSavedEvent item) {
+        List<Object[]> matches = new ArrayList<>();
+        if (Boolean.TRUE.equals(item.available())) {
+            for (RequestMatch match : index.match(item.ownerId(), item.name(), item.description(), minScore,
+                    maxMatches)) {
+                matches.add(new Object[]{match.requestId(), item.itemId(), match.score()});
+            }
+        }
+        requestMatchRepository.replace(List.of(item.itemId()), matches, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.request.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.OpenRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(Long requestorId);
+
+    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDescIdDesc(Long userId, Limit limit);
+
+    @Query("select r from ItemRequest as r where r.requestor.id <> ?1 and " +
+            "(r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllOtherBefore(Long userId, LocalDateTime created, Long id, Limit limit);
+
+    /**
+     * Requests created after {@code since} that no item has been added for yet.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select r.id as id, r.requestor.id as requestorId, r.description as description, " +
+            "r.created as created from ItemRequest as r where r.created > ?1 and " +
+            "not exists (select it.id from Item as it where it.request.id = r.id)")
+    Stream<OpenRequest> streamOpenRequests(LocalDateTime since);
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemRequestService {
+
+    ItemRequestDto create(Long userId, ItemRequestDto itemRequest);
+
+    List<ItemRequestDto> getOwnRequests(Long userId);
+
+    List<ItemRequestDto> getOtherRequests(Long userId, LocalDateTime createdBefore, Long idBefore, Integer size);
+
+    ItemRequestDto getById(Long userId, Long requestId);
+
+    List<ItemDto> getMatches(Long userId, Long requestId);
+}
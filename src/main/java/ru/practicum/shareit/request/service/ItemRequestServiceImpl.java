@@ -0,0 +1,126 @@
+package ru.practicum.shareit.request.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.common.ServiceMetrics;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.match.RequestMatchRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.99, 0.999})
+public class ItemRequestServiceImpl implements ItemRequestService {
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final ItemRepository itemRepository;
+
+    private final UserRepository userRepository;
+
+    private final ServiceMetrics serviceMetrics;
+
+    private final RequestMatcher requestMatcher;
+
+    private final RequestMatchRepository requestMatchRepository;
+
+    @Override
+    public ItemRequestDto create(Long userId, ItemRequestDto itemRequest) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        ItemRequest newRequest = ItemRequestMapper.toItemRequest(itemRequest);
+        newRequest.setRequestor(user);
+        newRequest.setCreated(LocalDateTime.now());
+        ItemRequest savedRequest = itemRequestRepository.save(newRequest);
+        requestMatcher.addRequest(savedRequest);
+        return ItemRequestMapper.toItemRequestDto(savedRequest, List.of());
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwnRequests(Long userId) {
+        checkUser(userId);
+        return serviceMetrics.timeList("requests.own", Tags.empty(), () ->
+                withItems(itemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc(userId)));
+    }
+
+    @Override
+    public List<ItemRequestDto> getOtherRequests(Long userId, LocalDateTime createdBefore, Long idBefore,
+                                                 Integer size) {
+        if (size == null || size <= 0 || (createdBefore == null) != (idBefore == null)) {
+            throw new ValidationException("Invalid paging parameters");
+        }
+        checkUser(userId);
+        return serviceMetrics.timeList("requests.all", Tags.empty(), () -> withItems(createdBefore == null
+                ? itemRequestRepository.findAllByRequestorIdNotOrderByCreatedDescIdDesc(userId, Limit.of(size))
+                : itemRequestRepository.findAllOtherBefore(userId, createdBefore, idBefore, Limit.of(size))));
+    }
+
+    @Override
+    public ItemRequestDto getById(Long userId, Long requestId) {
+        checkUser(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found"));
+        return withItems(List.of(itemRequest)).get(0);
+    }
+
+    @Override
+    public List<ItemDto> getMatches(Long userId, Long requestId) {
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found"));
+        if (!Objects.equals(itemRequest.getRequestor().getId(), userId)) {
+            throw new NotFoundException("Request not found");
+        }
+        List<Long> itemIds = requestMatchRepository.findItemIds(requestId);
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(ItemMapper::toItemDto)
+                .toList();
+    }
+
+    private void checkUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+    }
+
+    /**
+     * Answers for the whole page are fetched with one query on items.request_id.
+     */
+    private List<ItemRequestDto> withItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemDto>> items = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDto, Collectors.toList())));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toItemRequestDto(request,
+                        items.getOrDefault(request.getId(), List.of())))
+                .toList();
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/**
+ * Sorted, duplicate-free list of ids backed by a primitive array.
+ * Ids are mostly appended in increasing order, so additions are amortized O(1).
+ */
+public class LongPostings {
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values = new long[4];
+    private int size;
+
+    public void add(long value) {
+        int index = size;
+        if (size > 0 && values[size - 1] >= value) {
+            index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] toArray() {
+        return size == 0 ? EMPTY : Arrays.copyOf(values, size);
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    public void trimToSize() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Merges any number of postings into one sorted, duplicate-free array. The
+     * lists are merged k ways through a heap of their cursors, so only the result
+     * is allocated however many lists there are.
+     */
+    public static long[] union(Collection<LongPostings> postings) {
+        LongPostings[] lists = postings.stream()
+                .filter(list -> list.size > 0)
+                .toArray(LongPostings[]::new);
+        if (lists.length == 0) {
+            return EMPTY;
+        }
+        if (lists.length == 1) {
+            return lists[0].toArray();
+        }
+        int total = 0;
+        for (LongPostings list : lists) {
+            total += list.size;
+        }
+        long[] result = new long[total];
+        int[] positions = new int[lists.length];
+        int[] heap = new int[lists.length];
+        int heapSize = lists.length;
+        for (int i = 0; i < heapSize; i++) {
+            heap[i] = i;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, lists, positions);
+        }
+        int k = 0;
+        while (heapSize > 0) {
+            int top = heap[0];
+            long value = lists[top].values[positions[top]];
+            if (k == 0 || result[k - 1] != value) {
+                result[k++] = value;
+            }
+            if (++positions[top] == lists[top].size) {
+                heap[0] = heap[--heapSize];
+            }
+            if (heapSize > 0) {
+                siftDown(heap, heapSize, 0, lists, positions);
+            }
+        }
+        return k == total ? result : Arrays.copyOf(result, k);
+    }
+
+    public static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[k++] = first[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Ids of {@code first} that are not in {@code second}, both sorted.
+     */
+    public static long[] subtract(long[] first, long[] second) {
+        long[] result = new long[first.length];
+        int j = 0;
+        int k = 0;
+        for (long value : first) {
+            while (j < second.length && second[j] < value) {
+                j++;
+            }
+            if (j == second.length || second[j] != value) {
+                result[k++] = value;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static void siftDown(int[] heap, int size, int index, LongPostings[] lists, int[] positions) {
+        int list = heap[index];
+        long value = lists[list].values[positions[list]];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && head(lists, positions, heap[child + 1]) < head(lists, positions, heap[child])) {
+                child++;
+            }
+            if (value <= head(lists, positions, heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = list;
+    }
+
+    private static long head(LongPostings[] lists, int[] positions, int list) {
+        return lists[list].values[positions[list]];
+    }
+}
@@ -1,11 +1,17 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -13,11 +19,22 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final UserService userService;
 
+    private final ObjectMapper objectMapper;
+
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public List<UserDto> getAllUsers(@RequestParam(value = "after", defaultValue = "0") Long after,
+                                     @RequestParam(value = "size", defaultValue = "1000") Integer size) {
+        return userService.getAllUsers(after, size);
+    }
+
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = out -> userService.streamAllUsers(user -> writeLine(out, user));
+        return ResponseEntity.ok().body(body);
     }
 
     @GetMapping("/{userId}")
@@ -39,4 +56,13 @@ public class UserController {
     public void delete(@PathVariable Long userId) {
         userService.delete(userId);
     }
+
+    private void writeLine(OutputStream out, UserDto user) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(user));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
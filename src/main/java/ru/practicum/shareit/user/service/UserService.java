@@ -4,10 +4,13 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
-    List<UserDto> getAllUsers();
+    List<UserDto> getAllUsers(Long after, Integer size);
+
+    void streamAllUsers(Consumer<UserDto> consumer);
 
     UserDto getById(Long userId);
 
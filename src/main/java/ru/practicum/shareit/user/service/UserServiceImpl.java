@@ -1,7 +1,15 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.ServiceMetrics;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
@@ -11,19 +19,45 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true, percentiles = {0.5, 0.99, 0.999})
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+
     private final UserRepository userRepository;
 
+    private final EntityManager entityManager;
+
+    private final ServiceMetrics serviceMetrics;
+
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserDto)
-                .toList();
+    public List<UserDto> getAllUsers(Long after, Integer size) {
+        if (after == null || after < 0 || size == null || size <= 0) {
+            throw new ValidationException("Некорректные параметры пагинации");
+        }
+        return serviceMetrics.timeList("users.all", Tags.empty(), () ->
+                userRepository.findAllByIdGreaterThanOrderByIdAsc(after, Limit.of(size)).stream()
+                        .map(UserMapper::toUserDto)
+                        .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(UserMapper.toUserDto(user));
+                // keep the persistence context from growing with the table
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Override
@@ -35,11 +69,8 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto create(User user) {
-        boolean checkUser = getAllUsers().stream().anyMatch(user1 -> user1.getEmail().equals(user.getEmail()));
-        if (checkUser) {
-            throw new ConflictException("Этот имейл уже используется");
-        }
-        User createdUser = userRepository.save(user);
+        checkEmail(user.getEmail());
+        User createdUser = saveUser(user);
         return UserMapper.toUserDto(createdUser);
     }
 
@@ -49,15 +80,12 @@ public class UserServiceImpl implements UserService {
             throw new ValidationException("Id должен быть указан");
         }
         if (userDto.getEmail() != null) {
-            boolean checkUser = getAllUsers().stream().anyMatch(user1 -> user1.getEmail().equals(userDto.getEmail()));
-            if (checkUser) {
-                throw new ConflictException("Этот имейл уже используется");
-            }
+            checkEmail(userDto.getEmail());
         }
         User oldUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("user not found"));
         User user = UserMapper.toUser(userDto);
-        User updatedUser = userRepository.save(updateUserFields(oldUser, user));
+        User updatedUser = saveUser(updateUserFields(oldUser, user));
         return UserMapper.toUserDto(updatedUser);
     }
 
@@ -67,6 +95,41 @@ public class UserServiceImpl implements UserService {
         user.ifPresent(userRepository::delete);
     }
 
+    private void checkEmail(String email) {
+        if (userRepository.existsByEmail(email)) {
+            throw new ConflictException("Этот имейл уже используется");
+        }
+    }
+
+    /**
+     * The existence check can race with a concurrent signup, so a UQ_USER_EMAIL
+     * violation from the database is reported as the same conflict. Any other
+     * integrity violation is not about the email and is rethrown as is.
+     */
+    private User saveUser(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, EMAIL_CONSTRAINT)) {
+                throw new ConflictException("Этот имейл уже используется");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Constraint names are matched by containment, as H2 reports the name of the
+     * index behind the constraint, e.g. {@code PUBLIC.UQ_USER_EMAIL_INDEX_4}.
+     */
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toUpperCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+
     private User updateUserFields(User oldUser, User user) {
         if (user.getEmail() != null) {
             oldUser.setEmail(user.getEmail());
@@ -0,0 +1,10 @@
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS status VARCHAR(20) DEFAULT 'PENDING' NOT NULL;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS last_error VARCHAR(1000);
+
+UPDATE outbox_events SET next_attempt_at = created_at WHERE next_attempt_at IS NULL;
+ALTER TABLE outbox_events ALTER COLUMN next_attempt_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_outbox_events_status_due ON outbox_events (status, next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS ix_outbox_events_aggregate ON outbox_events (aggregate_type, aggregate_id, id);
@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created ON requests (requestor_id, create_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (create_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+ALTER TABLE items ADD CONSTRAINT ITEM_REQUEST_FK FOREIGN KEY (request_id) REFERENCES requests(id);
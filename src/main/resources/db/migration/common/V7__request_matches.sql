@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS request_matches (
+  request_id BIGINT NOT NULL,
+  item_id BIGINT NOT NULL,
+  score DOUBLE PRECISION NOT NULL,
+  matched_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_request_match PRIMARY KEY (request_id, item_id),
+  CONSTRAINT MATCH_REQUEST_FK FOREIGN KEY (request_id) REFERENCES requests(id),
+  CONSTRAINT MATCH_ITEM_FK FOREIGN KEY (item_id) REFERENCES items(id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_request_matches_item ON request_matches (item_id);
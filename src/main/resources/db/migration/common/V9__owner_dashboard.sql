@@ -0,0 +1,47 @@
+CREATE TABLE IF NOT EXISTS owner_dashboard_items (
+  item_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  name VARCHAR(255) NOT NULL,
+  description VARCHAR(512) NOT NULL,
+  is_available BOOLEAN,
+  comment_count INTEGER DEFAULT 0 NOT NULL,
+  comments TEXT,
+  CONSTRAINT pk_owner_dashboard_item PRIMARY KEY (item_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_items_owner ON owner_dashboard_items (owner_id, item_id);
+
+CREATE TABLE IF NOT EXISTS owner_dashboard_bookings (
+  booking_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
+  item_id BIGINT NOT NULL,
+  booker_id BIGINT NOT NULL,
+  start_date TIMESTAMP WITHOUT TIME ZONE,
+  end_date TIMESTAMP WITHOUT TIME ZONE,
+  status VARCHAR(25) NOT NULL,
+  item_name VARCHAR(255) NOT NULL,
+  item_description VARCHAR(512) NOT NULL,
+  item_available BOOLEAN,
+  CONSTRAINT pk_owner_dashboard_booking PRIMARY KEY (booking_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_bookings_owner_start
+  ON owner_dashboard_bookings (owner_id, start_date DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_bookings_owner_status_start
+  ON owner_dashboard_bookings (owner_id, status, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS ix_owner_dashboard_bookings_owner_end
+  ON owner_dashboard_bookings (owner_id, end_date);
+
+-- Comments are rendered into the rows by the application on startup.
+INSERT INTO owner_dashboard_items (item_id, owner_id, name, description, is_available, comment_count)
+SELECT i.id, i.owner_id, i.name, i.description, i.is_available,
+       (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id)
+FROM items i;
+
+INSERT INTO owner_dashboard_bookings (booking_id, owner_id, item_id, booker_id, start_date, end_date, status,
+                                      item_name, item_description, item_available)
+SELECT b.id, i.owner_id, b.item_id, b.booker_id, b.start_date, b.end_date, b.status,
+       i.name, i.description, i.is_available
+FROM bookings b JOIN items i ON i.id = b.item_id;
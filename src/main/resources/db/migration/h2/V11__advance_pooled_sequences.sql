@@ -0,0 +1,13 @@
+-- V5 created the sequences at 1 without moving them past existing rows.
+-- Restart each one at MAX(id) + 50, where the Postgres setval in V5 leaves it,
+-- so the first pooled block Hibernate takes starts above the current ids.
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM users);
+
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM items);
+
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM bookings);
+
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM comments);
+
+ALTER SEQUENCE requests_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM requests);
@@ -0,0 +1,26 @@
+-- V4 adds an exclusion constraint over active bookings, which cannot be created while
+-- overlapping ones exist. Bookings are kept in priority order: approved before waiting,
+-- then the earliest made. Any active booking that overlaps one already kept is rejected.
+DO $$
+DECLARE
+    booking RECORD;
+BEGIN
+    FOR booking IN
+        SELECT id, item_id, start_date, end_date, status
+        FROM bookings
+        WHERE status IN ('WAITING', 'APPROVED')
+        ORDER BY item_id, status = 'APPROVED' DESC, id
+    LOOP
+        IF EXISTS (SELECT 1
+                   FROM bookings kept
+                   WHERE kept.item_id = booking.item_id
+                     AND kept.id <> booking.id
+                     AND kept.status IN ('WAITING', 'APPROVED')
+                     AND (kept.status = 'APPROVED' AND booking.status = 'WAITING'
+                          OR kept.status = booking.status AND kept.id < booking.id)
+                     AND kept.start_date < booking.end_date
+                     AND kept.end_date > booking.start_date) THEN
+            UPDATE bookings SET status = 'REJECTED' WHERE id = booking.id;
+        END IF;
+    END LOOP;
+END $$;
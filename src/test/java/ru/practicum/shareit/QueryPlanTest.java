@@ -0,0 +1,144 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs EXPLAIN for the hot repository queries on a seeded Postgres and fails
+ * when any of them falls back to a sequential scan. The statements mirror the
+ * SQL Hibernate generates for the repository methods named in each case.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "shareit.outbox.initial-delay=1h",
+        "shareit.outbox.poll-interval=1h"
+})
+class QueryPlanTest {
+
+    private static final int USERS = 10_000;
+
+    private static final int ITEMS = 100_000;
+
+    private static final int BOOKINGS = 300_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into users (id, name, email) " +
+                "select g, 'user ' || g, 'user' || g || '@shareit.ru' from generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("insert into requests (id, description, requestor_id, create_date) " +
+                "select g, 'request ' || g, 1 + g % ?, now() - g * interval '1 minute' " +
+                "from generate_series(1, ?) g", USERS, ITEMS / 2);
+        jdbcTemplate.update("insert into items (id, name, description, is_available, owner_id, request_id) " +
+                "select g, 'item ' || g, 'description of item ' || g, g % 10 <> 0, 1 + g % ?, " +
+                "case when g % 5 = 0 then g / 2 end from generate_series(1, ?) g", USERS, ITEMS);
+        // every item gets its bookings in separate windows, so the exclusion constraint holds
+        jdbcTemplate.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status) " +
+                "select g, now() - interval '30 days' + (g / ?) * interval '10 days', " +
+                "now() - interval '28 days' + (g / ?) * interval '10 days', 1 + g % ?, 1 + (g * 7) % ?, " +
+                "(array['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[1 + g % 4] " +
+                "from generate_series(1, ?) g", ITEMS, ITEMS, ITEMS, USERS, BOOKINGS);
+        jdbcTemplate.update("insert into comments (id, text, item_id, author_id, create_date) " +
+                "select g, 'comment ' || g, 1 + g % ?, 1 + g % ?, now() from generate_series(1, ?) g",
+                ITEMS, USERS, ITEMS);
+        jdbcTemplate.update("insert into owner_dashboard_items " +
+                "(item_id, owner_id, name, description, is_available, comment_count) " +
+                "select id, owner_id, name, description, is_available, 1 from items");
+        jdbcTemplate.update("insert into owner_dashboard_bookings " +
+                "(booking_id, owner_id, item_id, booker_id, start_date, end_date, status, " +
+                "item_name, item_description, item_available) " +
+                "select b.id, i.owner_id, b.item_id, b.booker_id, b.start_date, b.end_date, b.status, " +
+                "i.name, i.description, i.is_available from bookings b join items i on i.id = b.item_id");
+        jdbcTemplate.execute("analyze");
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("BookingRepository.findAllByBookerId",
+                        "select b.*, i.*, u.* from bookings b join items i on i.id = b.item_id " +
+                                "join users u on u.id = b.booker_id where b.booker_id = 4242 " +
+                                "order by b.start_date desc, b.id desc offset 0 limit 10"),
+                Arguments.of("BookingRepository.findAllByBookerIdAndStatus",
+                        "select b.*, i.*, u.* from bookings b join items i on i.id = b.item_id " +
+                                "join users u on u.id = b.booker_id where b.booker_id = 4242 " +
+                                "and b.status = 'WAITING' order by b.start_date desc, b.id desc offset 0 limit 10"),
+                Arguments.of("BookingRepository.findAllByBookerIdAndEndIsBefore",
+                        "select b.*, i.*, u.* from bookings b join items i on i.id = b.item_id " +
+                                "join users u on u.id = b.booker_id where b.booker_id = 4242 " +
+                                "and b.end_date < now() order by b.start_date desc, b.id desc offset 0 limit 10"),
+                Arguments.of("BookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter",
+                        "select b.id from bookings b where b.item_id = 4242 " +
+                                "and b.status in ('WAITING', 'APPROVED') and b.start_date < now() + interval '2 days' " +
+                                "and b.end_date > now() fetch first 1 rows only"),
+                Arguments.of("BookingRepository.findByBookerIdAndItemIdAndEndIsBeforeAndStatus",
+                        "select b.* from bookings b where b.booker_id = 4242 and b.item_id = 4242 " +
+                                "and b.end_date < now() and b.status = 'APPROVED'"),
+                Arguments.of("ItemRepository.findItemDetails",
+                        "select i.id, i.name, i.description, i.is_available, i.owner_id, c.id, c.text, a.name, " +
+                                "c.create_date from items i left join comments c on c.item_id = i.id " +
+                                "left join users a on a.id = c.author_id where i.id = 4242 order by c.id"),
+                Arguments.of("ItemRepository.existsByOwnerId",
+                        "select i.id from items i where i.owner_id = 4242 fetch first 1 rows only"),
+                Arguments.of("ItemRepository.findAllByRequestIdIn",
+                        "select i.* from items i where i.request_id in (100, 200, 300)"),
+                Arguments.of("ItemRepository.findByQuery",
+                        "select i.* from items i where i.is_available = true and " +
+                                "(lower(i.name) like '%item 4242%' or lower(i.description) like '%item 4242%') " +
+                                "order by case when lower(i.name) like '%item 4242%' then 0 else 1 end, i.id " +
+                                "offset 0 limit 20"),
+                Arguments.of("CommentRepository.findAllByItemIdIn",
+                        "select c.* from comments c where c.item_id in (100, 200, 300)"),
+                Arguments.of("OwnerDashboardItemRepository.findAllByOwnerIdOrderByItemId",
+                        "select d.* from owner_dashboard_items d where d.owner_id = 4242 order by d.item_id"),
+                Arguments.of("OwnerDashboardBookingRepository.findAllByOwnerId",
+                        "select d.*, u.* from owner_dashboard_bookings d join users u on u.id = d.booker_id " +
+                                "where d.owner_id = 4242 order by d.start_date desc, d.booking_id desc " +
+                                "offset 0 limit 10"),
+                Arguments.of("OwnerDashboardBookingRepository.findAllByOwnerIdAndStatus",
+                        "select d.*, u.* from owner_dashboard_bookings d join users u on u.id = d.booker_id " +
+                                "where d.owner_id = 4242 and d.status = 'WAITING' " +
+                                "order by d.start_date desc, d.booking_id desc offset 0 limit 10"),
+                Arguments.of("OwnerDashboardBookingRepository.findAllByOwnerIdAndEndIsBefore",
+                        "select d.*, u.* from owner_dashboard_bookings d join users u on u.id = d.booker_id " +
+                                "where d.owner_id = 4242 and d.end_date < now() " +
+                                "order by d.start_date desc, d.booking_id desc offset 0 limit 10"),
+                Arguments.of("ItemRequestRepository.findAllByRequestorIdOrderByCreatedDescIdDesc",
+                        "select r.* from requests r where r.requestor_id = 4242 " +
+                                "order by r.create_date desc, r.id desc"),
+                Arguments.of("ItemRequestRepository.findAllByRequestorIdNotOrderByCreatedDescIdDesc",
+                        "select r.* from requests r where r.requestor_id <> 4242 " +
+                                "order by r.create_date desc, r.id desc fetch first 10 rows only")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void usesIndexes(String query, String sql) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan")),
+                () -> query + " scans a table:\n" + String.join("\n", plan));
+    }
+}
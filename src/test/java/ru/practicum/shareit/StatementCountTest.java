@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestFixtures.createItem;
+import static ru.practicum.shareit.TestFixtures.createUser;
+
+/**
+ * Pins the number of statements Hibernate prepares for the owner pages, so an
+ * N+1 shows up as a failing count rather than as a slow endpoint. Each page is
+ * measured with one item and again with several items, bookings and comments.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.outbox.initial-delay=1h",
+        "shareit.outbox.poll-interval=1h"
+})
+class StatementCountTest {
+
+    private static final int ITEMS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemDetailsCache itemDetailsCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void ownerPagesRunAFixedNumberOfStatements() {
+        Long ownerId = createUser(userService, "owner");
+        Long bookerId = createUser(userService, "booker");
+        List<Long> itemIds = new ArrayList<>();
+        itemIds.add(createBookedItem(ownerId, bookerId));
+
+        assertStatementCounts(ownerId, itemIds.get(0));
+
+        for (int i = 1; i < ITEMS; i++) {
+            itemIds.add(createBookedItem(ownerId, bookerId));
+        }
+
+        assertStatementCounts(ownerId, itemIds.get(ITEMS - 1));
+    }
+
+    private void assertStatementCounts(Long ownerId, Long itemId) {
+        // the user check and one read of the dashboard items
+        statistics.clear();
+        itemService.getUserItems(ownerId);
+        assertEquals(2, statistics.getPrepareStatementCount(), "getUserItems");
+
+        // item, owner and comments in one query; bookings come from the interval index
+        itemDetailsCache.evict(itemId);
+        statistics.clear();
+        itemService.getItemById(itemId, ownerId);
+        assertEquals(1, statistics.getPrepareStatementCount(), "getItemById");
+
+        // one read of the dashboard bookings with their bookers
+        statistics.clear();
+        bookingService.getBookingItemsByState(ownerId, BookingState.ALL, 0, 20);
+        assertEquals(1, statistics.getPrepareStatementCount(), "getBookingItemsByState");
+    }
+
+    private Long createBookedItem(Long ownerId, Long bookerId) {
+        Long itemId = createItem(itemService, ownerId);
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto booking = bookingService.createNewBooking(BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build(), bookerId);
+        bookingService.approveBookingRequest(ownerId, booking.getId(), true);
+        itemService.addNewComment(itemId, bookerId, CommentDto.builder().text("Отличная дрель").build());
+        return itemId;
+    }
+}
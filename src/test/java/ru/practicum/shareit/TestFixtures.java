@@ -0,0 +1,31 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserService;
+
+/**
+ * Users and items the integration tests start from. Emails are unique, so the
+ * tests of one context do not collide.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Long createUser(UserService userService, String name) {
+        return userService.create(User.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@shareit.ru")
+                .build()).getId();
+    }
+
+    public static Long createItem(ItemService itemService, Long ownerId) {
+        return itemService.addNewItem(ownerId, ItemDto.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .build()).getId();
+    }
+}
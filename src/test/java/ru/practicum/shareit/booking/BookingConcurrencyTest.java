@@ -0,0 +1,294 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestFixtures.createItem;
+import static ru.practicum.shareit.TestFixtures.createUser;
+
+@Slf4j
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ROUNDS = 5;
+
+    private static final int BOOKINGS_PER_THREAD = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void onlyOneOfConcurrentBookingsForTheSameSlotIsCreated() throws Exception {
+        Long ownerId = createUser(userService, "owner");
+        Long itemId = createItem(itemService, ownerId);
+        List<Long> bookerIds = createBookers();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+
+        Queue<BookingDto> created = new ConcurrentLinkedQueue<>();
+        runConcurrently(bookerIds.stream()
+                .map(bookerId -> (Callable<Void>) () -> {
+                    book(itemId, bookerId, start, end, created);
+                    return null;
+                })
+                .toList());
+
+        assertEquals(1, created.size());
+        assertEquals(1, activeBookings(itemId));
+    }
+
+    @Test
+    void slotStaysSingleBookedWhileTheOwnerRejectsAndApproves() throws Exception {
+        Long ownerId = createUser(userService, "owner");
+        Long itemId = createItem(itemService, ownerId);
+        List<Long> bookerIds = createBookers();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+
+        Queue<BookingDto> created = new ConcurrentLinkedQueue<>();
+        book(itemId, bookerIds.get(0), start, end, created);
+        for (int round = 0; round < ROUNDS; round++) {
+            BookingDto current = created.stream()
+                    .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+            boolean approve = round == ROUNDS - 1;
+            List<Callable<Void>> tasks = new ArrayList<>();
+            // the owner decides on the current booking while everybody tries to take the slot,
+            // partly overlapping it
+            tasks.add(() -> {
+                decide(ownerId, current.getId(), approve);
+                return null;
+            });
+            for (int i = 0; i < bookerIds.size(); i++) {
+                Long bookerId = bookerIds.get(i);
+                LocalDateTime from = start.plusHours(i % 3);
+                LocalDateTime to = end.plusHours(i % 2);
+                tasks.add(() -> {
+                    book(itemId, bookerId, from, to, created);
+                    return null;
+                });
+            }
+            runConcurrently(tasks);
+
+            assertTrue(activeBookings(itemId) <= 1, "round " + round + " left overlapping bookings");
+        }
+
+        // approving the rejected bookings must not take the slot a second time
+        runConcurrently(created.stream()
+                .map(booking -> (Callable<Void>) () -> {
+                    decide(ownerId, booking.getId(), true);
+                    return null;
+                })
+                .toList());
+        assertTrue(activeBookings(itemId) <= 1);
+    }
+
+    @Test
+    void concurrentBatchApprovalsTakeTheSlotOnce() throws Exception {
+        Long ownerId = createUser(userService, "owner");
+        Long itemId = createItem(itemService, ownerId);
+        List<Long> bookerIds = createBookers();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(2);
+
+        // every booking is rejected before the next one is made, so all of them overlap
+        Deque<BookingDto> created = new ConcurrentLinkedDeque<>();
+        for (int i = 0; i < bookerIds.size(); i++) {
+            book(itemId, bookerIds.get(i), start.plusHours(i % 3), end, created);
+            bookingService.approveBookingRequest(ownerId, created.getLast().getId(), false);
+        }
+        List<Long> bookingIds = created.stream()
+                .map(BookingDto::getId)
+                .toList();
+        assertEquals(THREADS, bookingIds.size());
+
+        assertThrows(ConflictException.class, () -> bookingService.approveBookingRequests(ownerId, List.of(
+                approval(bookingIds.get(0), true),
+                approval(bookingIds.get(1), true))));
+        assertEquals(0, activeBookings(itemId));
+
+        // each batch approves one booking and rejects its neighbour
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < bookingIds.size(); i++) {
+            List<BookingApprovalDto> batch = List.of(
+                    approval(bookingIds.get(i), true),
+                    approval(bookingIds.get((i + 1) % bookingIds.size()), false));
+            tasks.add(() -> {
+                try {
+                    bookingService.approveBookingRequests(ownerId, batch);
+                } catch (ConflictException e) {
+                    // another batch holds the slot
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertTrue(activeBookings(itemId) <= 1);
+    }
+
+    @Test
+    void bookingsOfDistinctItemsDoNotWaitForEachOther() throws Exception {
+        Long ownerId = createUser(userService, "owner");
+        List<Long> bookerIds = createBookers();
+        List<Long> itemIds = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            itemIds.add(createItem(itemService, ownerId));
+        }
+        Long contendedItemId = createItem(itemService, ownerId);
+
+        Queue<BookingDto> distinct = new ConcurrentLinkedQueue<>();
+        double distinctRate = bookingsPerSecond(bookerIds, itemIds, distinct);
+        Queue<BookingDto> contended = new ConcurrentLinkedQueue<>();
+        double contendedRate = bookingsPerSecond(bookerIds, bookerIds.stream().map(id -> contendedItemId).toList(),
+                contended);
+        log.info("Bookings per second from {} threads: {} on distinct items, {} on one item",
+                THREADS, Math.round(distinctRate), Math.round(contendedRate));
+
+        // the slots never overlap, so every booking goes through either way
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, distinct.size());
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, contended.size());
+        for (Long itemId : itemIds) {
+            assertEquals(BOOKINGS_PER_THREAD, activeBookings(itemId));
+        }
+
+        List<BookingDto> approved = bookingService.approveBookingRequests(ownerId, contended.stream()
+                .map(booking -> approval(booking.getId(), true))
+                .toList());
+        assertEquals(contended.size(), approved.size());
+        assertTrue(approved.stream().allMatch(booking -> booking.getStatus() == BookingStatus.APPROVED));
+        assertEquals(THREADS * BOOKINGS_PER_THREAD, activeBookings(contendedItemId));
+    }
+
+    /**
+     * Every thread books its item {@link #BOOKINGS_PER_THREAD} times, in slots
+     * that overlap no other thread's.
+     */
+    private double bookingsPerSecond(List<Long> bookerIds, List<Long> itemIds, Queue<BookingDto> created)
+            throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < bookerIds.size(); i++) {
+            Long bookerId = bookerIds.get(i);
+            Long itemId = itemIds.get(i);
+            int thread = i;
+            tasks.add(() -> {
+                for (int j = 0; j < BOOKINGS_PER_THREAD; j++) {
+                    LocalDateTime from = start.plusHours(2L * (thread * BOOKINGS_PER_THREAD + j));
+                    book(itemId, bookerId, from, from.plusHours(1), created);
+                }
+                return null;
+            });
+        }
+        long began = System.nanoTime();
+        runConcurrently(tasks);
+        return tasks.size() * BOOKINGS_PER_THREAD / ((System.nanoTime() - began) / 1e9);
+    }
+
+    private static BookingApprovalDto approval(Long bookingId, boolean approved) {
+        return BookingApprovalDto.builder()
+                .bookingId(bookingId)
+                .approved(approved)
+                .build();
+    }
+
+    private void book(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end,
+                      Queue<BookingDto> created) {
+        try {
+            created.add(bookingService.createNewBooking(BookingDtoRequest.builder()
+                    .itemId(itemId)
+                    .start(start)
+                    .end(end)
+                    .build(), bookerId));
+        } catch (ConflictException e) {
+            // the slot is taken, which is the expected outcome for all but one booker
+        }
+    }
+
+    private void decide(Long ownerId, Long bookingId, boolean approved) {
+        try {
+            bookingService.approveBookingRequest(ownerId, bookingId, approved);
+        } catch (ConflictException e) {
+            // another booking holds the slot
+        }
+    }
+
+    private long activeBookings(Long itemId) {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(itemId))
+                .filter(booking -> booking.getStatus() == BookingStatus.WAITING
+                        || booking.getStatus() == BookingStatus.APPROVED)
+                .count();
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch ready = new CountDownLatch(tasks.size());
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return task.call();
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            go.countDown();
+            for (Future<Void> future : futures) {
+                // rethrows anything other than the expected conflicts
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> createBookers() {
+        List<Long> bookerIds = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            bookerIds.add(createUser(userService, "booker"));
+        }
+        return bookerIds;
+    }
+}
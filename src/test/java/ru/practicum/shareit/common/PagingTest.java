@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagingTest {
+
+    @Test
+    void startsAtFromEvenWhenItIsNotAMultipleOfSize() {
+        Pageable page = Paging.of(15, 10, 100, Sort.by("id"));
+
+        assertEquals(15, page.getOffset());
+        assertEquals(10, page.getPageSize());
+        assertEquals(Sort.by("id"), page.getSort());
+        assertEquals(25, page.next().getOffset());
+        assertEquals(5, page.previousOrFirst().getOffset());
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(ValidationException.class, () -> Paging.of(-1, 10, 100));
+        assertThrows(ValidationException.class, () -> Paging.of(0, 0, 100));
+        assertThrows(ValidationException.class, () -> Paging.of(null, 10, 100));
+        assertThrows(ValidationException.class, () -> Paging.of(0, 101, 100));
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.createItem;
+import static ru.practicum.shareit.TestFixtures.createUser;
+
+@SpringBootTest(properties = "shareit.query-budget.endpoints[GET\\ /items]=1")
+@AutoConfigureMockMvc
+class QueryBudgetFilterTest {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void requestOverBudgetFailsBeforeItsResponseIsWritten() throws Exception {
+        Long ownerId = createUser(userService, "owner");
+        createItem(itemService, ownerId);
+
+        // the user check is the one statement GET /items may run here, the item list goes over
+        mockMvc.perform(get("/items").header(USER_HEADER, ownerId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error", containsString("ran 2 SQL statements, budget is 1")));
+    }
+
+    @Test
+    void endpointsStayWithinTheirBudgets() throws Exception {
+        String user = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"owner\", \"email\": \"within@shareit.ru\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long ownerId = objectMapper.readValue(user, UserDto.class).getId();
+
+        mockMvc.perform(get("/users/{userId}", ownerId))
+                .andExpect(status().isOk());
+
+        String item = mockMvc.perform(post("/items")
+                        .header(USER_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Дрель\", \"description\": \"Ударная дрель\", \"available\": true}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long itemId = objectMapper.readValue(item, ItemDto.class).getId();
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Дрель"));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.dashboard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemExtendedDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.TestFixtures.createItem;
+import static ru.practicum.shareit.TestFixtures.createUser;
+
+@SpringBootTest
+class OwnerDashboardTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OwnerDashboardChecker checker;
+
+    @Test
+    void ownerSeesNewItemsBookingsAndCommentsRightAway() {
+        Long ownerId = createUser(userService, "owner");
+        Long bookerId = createUser(userService, "booker");
+        Long itemId = createItem(itemService, ownerId);
+
+        List<ItemExtendedDto> items = itemService.getUserItems(ownerId);
+        assertEquals(1, items.size());
+        assertEquals("Дрель", items.get(0).getName());
+
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto booking = bookingService.createNewBooking(BookingDtoRequest.builder()
+                .itemId(itemId)
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
+                .build(), bookerId);
+        List<BookingDto> waiting = bookingService.getBookingItemsByState(ownerId, BookingState.WAITING, 0, 10);
+        assertEquals(List.of(booking.getId()), waiting.stream().map(BookingDto::getId).toList());
+
+        bookingService.approveBookingRequest(ownerId, booking.getId(), true);
+        List<BookingDto> all = bookingService.getBookingItemsByState(ownerId, BookingState.ALL, 0, 10);
+        assertEquals(1, all.size());
+        assertEquals(BookingStatus.APPROVED, all.get(0).getStatus());
+        assertEquals(itemId, all.get(0).getItem().getId());
+        assertEquals(bookerId, all.get(0).getBooker().getId());
+
+        itemService.updateItem(ownerId, itemId, ItemDto.builder().name("Дрель Bosch").build());
+        itemService.addNewComment(itemId, bookerId, CommentDto.builder().text("Отличная дрель").build());
+        ItemExtendedDto updated = itemService.getUserItems(ownerId).get(0);
+        assertEquals("Дрель Bosch", updated.getName());
+        assertEquals(1, updated.getComments().size());
+        assertEquals("Отличная дрель", updated.getComments().get(0).getText());
+        assertEquals("Дрель Bosch",
+                bookingService.getBookingItemsByState(ownerId, BookingState.PAST, 0, 10).get(0).getItem().getName());
+
+        assertTrue(checker.check().isConsistent());
+    }
+}
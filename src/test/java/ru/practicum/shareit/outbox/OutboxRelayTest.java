@@ -0,0 +1,144 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.comment.CommentAddedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "shareit.outbox.initial-delay=1h",
+        "shareit.outbox.poll-interval=1h",
+        "shareit.outbox.max-attempts=2"
+})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecordingListener listener;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllInBatch());
+        listener.failing.clear();
+        listener.delivered.clear();
+    }
+
+    @Test
+    void failedEventIsKeptAndHoldsBackItsAggregate() {
+        listener.failing.add(11L);
+        append(1L, 11L);
+        append(1L, 12L);
+        append(2L, 21L);
+
+        relay.relay();
+
+        assertEquals(List.of(21L), listener.delivered);
+        OutboxEvent failed = event(11L);
+        assertEquals(OutboxStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getLastError().contains("listener failed"));
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, event(12L).getAttempts());
+
+        relay.relay();
+        assertEquals(List.of(21L), listener.delivered);
+
+        listener.failing.clear();
+        makeDue(11L);
+        relay.relay();
+
+        assertEquals(List.of(21L, 11L, 12L), listener.delivered);
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void eventIsDeadLetteredAfterMaxAttemptsAndReleasesItsAggregate() {
+        listener.failing.add(31L);
+        append(3L, 31L);
+        append(3L, 32L);
+
+        relay.relay();
+        makeDue(31L);
+        relay.relay();
+
+        assertEquals(List.of(32L), listener.delivered);
+        OutboxEvent dead = event(31L);
+        assertEquals(OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+
+        relay.relay();
+        assertEquals(List.of(32L), listener.delivered);
+        assertEquals(1, outboxRepository.count());
+    }
+
+    private void append(Long itemId, Long commentId) {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxWriter.append("Comment", itemId, new CommentAddedEvent(commentId, itemId, 1L)));
+    }
+
+    private OutboxEvent event(Long commentId) {
+        return outboxRepository.findAll().stream()
+                .filter(event -> event.getPayload().contains("\"commentId\":" + commentId + ","))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void makeDue(Long commentId) {
+        Long eventId = event(commentId).getId();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(eventId).orElseThrow()
+                .setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+    }
+
+    static class RecordingListener {
+
+        private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+
+        private final List<Long> delivered = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onCommentAdded(CommentAddedEvent event) {
+            if (failing.contains(event.commentId())) {
+                throw new IllegalStateException("listener failed for comment " + event.commentId());
+            }
+            delivered.add(event.commentId());
+        }
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+}